@@ -2,12 +2,14 @@ package com.portfolio.bloom;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import jakarta.annotation.PostConstruct;
 
 import java.util.TimeZone;
 
 @SpringBootApplication
+@EnableScheduling
 public class BloomApplication {
 
 	@PostConstruct
@@ -2,6 +2,7 @@ package com.portfolio.bloom.common;
 
 import com.portfolio.bloom.common.translation.LangList;
 import com.portfolio.bloom.domain.dto.UserResponseDto;
+import com.portfolio.bloom.domain.model.user.Role;
 import com.portfolio.bloom.domain.model.user.User;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -34,6 +35,14 @@ public class UserUtil {
         return null;
     }
 
+    /**
+     * @return true if the current authenticated user has the ADMIN role
+     */
+    public boolean isAdmin() {
+        User user = getCurrentUserEntity();
+        return user != null && user.getRole() == Role.ADMIN;
+    }
+
     /**
      * Helper method to get language preference from authenticated user or fallback to header.
      * 
@@ -1,12 +1,16 @@
 package com.portfolio.bloom.config;
 
+import com.portfolio.bloom.domain.model.user.Role;
 import com.portfolio.bloom.domain.model.user.User;
-import com.portfolio.bloom.domain.repository.UserRepository;
+import com.portfolio.bloom.security.PrincipalCache;
+import com.portfolio.bloom.security.SecurityVersionRegistry;
+import com.portfolio.bloom.security.TokenRevocationList;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -19,13 +23,20 @@ import java.util.Optional;
 
 /**
  * JWT authentication filter that intercepts requests and validates JWT tokens.
+ * With {@code application.security.jwt.self-contained=true} the principal is taken from the
+ * token claims and no user lookup happens on the request path.
  */
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+    private final TokenRevocationList tokenRevocationList;
+    private final SecurityVersionRegistry securityVersionRegistry;
+
+    @Value("${application.security.jwt.self-contained:false}")
+    private boolean selfContained;
 
     @Override
     protected void doFilterInternal(
@@ -35,7 +46,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String userEmail;
         
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
@@ -43,12 +53,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         
         jwt = authHeader.substring(7);
-        userEmail = jwtService.extractUsername(jwt);
+        Optional<JwtClaims> claims = jwtService.verify(jwt);
+        
+        if (claims.isPresent()
+                && (claims.get().isRefreshToken() || tokenRevocationList.isRevoked(claims.get().getId()))) {
+            claims = Optional.empty();
+        }
         
-        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            Optional<User> userOptional = userRepository.findByEmailOrPhoneNumberAndDeletedIsFalse(userEmail);
+        if (claims.isPresent() && SecurityContextHolder.getContext().getAuthentication() == null) {
+            Optional<User> userOptional = resolvePrincipal(claims.get());
             
-            if (userOptional.isPresent() && jwtService.isTokenValid(jwt, userOptional.get())) {
+            if (userOptional.isPresent() && jwtService.isTokenValid(claims.get(), userOptional.get())) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userOptional.get(),
                         null,
@@ -61,4 +76,27 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * In self-contained mode the principal is built straight from the token claims, and the
+     * token is only accepted while its security version is current. Otherwise the user is
+     * loaded through the principal cache and compared against the stored version.
+     */
+    private Optional<User> resolvePrincipal(JwtClaims claims) {
+        if (selfContained && claims.isSelfContained()) {
+            if (!securityVersionRegistry.isCurrent(claims.getUserId(), claims.getSecurityVersion())) {
+                return Optional.empty();
+            }
+            return Optional.of(User.builder()
+                    .id(claims.getUserId())
+                    .email(claims.getSubject())
+                    .role(Role.valueOf(claims.getRole()))
+                    .securityVersion(claims.getSecurityVersion())
+                    .build());
+        }
+
+        return principalCache.get(claims.getSubject())
+                .filter(user -> claims.getSecurityVersion() == null
+                        || claims.getSecurityVersion() >= user.getSecurityVersion());
+    }
 }
@@ -0,0 +1,62 @@
+package com.portfolio.bloom.config;
+
+import io.jsonwebtoken.Claims;
+import lombok.Value;
+
+import java.util.Date;
+
+/**
+ * Immutable view of the claims of a token whose signature has already been verified.
+ */
+@Value
+public class JwtClaims {
+
+    String id;
+    String subject;
+    Date issuedAt;
+    Date expiration;
+    String tokenUse;
+    String familyId;
+    String userId;
+    String role;
+    Long securityVersion;
+
+    public static JwtClaims from(Claims claims) {
+        return new JwtClaims(
+                claims.getId(),
+                claims.getSubject(),
+                claims.getIssuedAt(),
+                claims.getExpiration(),
+                claims.get(JwtService.CLAIM_TOKEN_USE, String.class),
+                claims.get(JwtService.CLAIM_FAMILY, String.class),
+                claims.get(JwtService.CLAIM_USER_ID, String.class),
+                claims.get(JwtService.CLAIM_ROLE, String.class),
+                claims.get(JwtService.CLAIM_SECURITY_VERSION, Long.class)
+        );
+    }
+
+    public boolean isRefreshToken() {
+        return JwtService.TOKEN_USE_REFRESH.equals(tokenUse);
+    }
+
+    /**
+     * @return true if the token carries everything needed to build the principal without a lookup
+     */
+    public boolean isSelfContained() {
+        return userId != null && role != null && securityVersion != null;
+    }
+
+    public boolean isExpired() {
+        return expiration != null && expiration.getTime() <= System.currentTimeMillis();
+    }
+
+    /**
+     * Milliseconds left before the token expires, or zero when it already has.
+     */
+    public long remainingMillis() {
+        if (expiration == null) {
+            return 0L;
+        }
+        return Math.max(0L, expiration.getTime() - System.currentTimeMillis());
+    }
+}
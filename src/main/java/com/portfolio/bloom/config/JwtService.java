@@ -1,35 +1,129 @@
 package com.portfolio.bloom.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.portfolio.bloom.domain.model.user.Role;
+import com.portfolio.bloom.domain.model.user.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 /**
  * JWT service for token generation and validation.
+ *
+ * <p>The signing key and parser are built once at startup. Verified tokens are kept in a
+ * bounded cache keyed by the SHA-256 digest of the token, and each entry expires together
+ * with the token's own {@code exp} claim, so a token is parsed and HMAC-verified once
+ * rather than on every request.
  */
 @Service
 public class JwtService {
 
+    public static final String CLAIM_TOKEN_USE = "token_use";
+    public static final String CLAIM_FAMILY = "fam";
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_SECURITY_VERSION = "sv";
+    public static final String TOKEN_USE_ACCESS = "access";
+    public static final String TOKEN_USE_REFRESH = "refresh";
+
     @Value("${application.security.jwt.secret-key}")
     private String secretKey;
-    
+
     @Value("${application.security.jwt.expiration}")
     private long jwtExpiration;
-    
+
     @Value("${application.security.jwt.refresh-token.expiration}")
     private long refreshExpiration;
 
+    @Value("${application.security.jwt.verified-cache.max-size:10000}")
+    private long verifiedCacheMaxSize;
+
+    private Key signInKey;
+    private JwtParser jwtParser;
+    private Cache<String, JwtClaims> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signInKey)
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaxSize)
+                .expireAfter(new Expiry<String, JwtClaims>() {
+                    @Override
+                    public long expireAfterCreate(String key, JwtClaims claims, long currentTime) {
+                        return TimeUnit.MILLISECONDS.toNanos(claims.remainingMillis());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, JwtClaims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, JwtClaims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Verifies the signature and expiration of the token, parsing it at most once while it
+     * stays in the verified-token cache.
+     *
+     * @param token Compact JWT string
+     * @return Verified claims, or empty if the token is malformed, tampered with or expired
+     */
+    public Optional<JwtClaims> verify(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+
+        String digest = digest(token);
+        JwtClaims cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            return cached.isExpired() ? Optional.empty() : Optional.of(cached);
+        }
+
+        final JwtClaims claims;
+        try {
+            claims = JwtClaims.from(extractAllClaims(token));
+        } catch (JwtException | IllegalArgumentException ex) {
+            return Optional.empty();
+        }
+
+        if (claims.isExpired()) {
+            return Optional.empty();
+        }
+        verifiedTokens.put(digest, claims);
+        return Optional.of(claims);
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -44,11 +138,43 @@ public class JwtService {
     }
 
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
-        return buildToken(extraClaims, userDetails, jwtExpiration);
+        Map<String, Object> claims = new HashMap<>(extraClaims);
+        claims.put(CLAIM_TOKEN_USE, TOKEN_USE_ACCESS);
+        if (userDetails instanceof User user) {
+            claims.put(CLAIM_USER_ID, user.getId());
+            claims.put(CLAIM_ROLE, (user.getRole() != null ? user.getRole() : Role.USER).name());
+            claims.put(CLAIM_SECURITY_VERSION, user.getSecurityVersion());
+        }
+        return buildToken(claims, userDetails, jwtExpiration);
+    }
+
+    /**
+     * Generates an access token belonging to a refresh-token family, so that the whole chain
+     * can be revoked together if a refresh token is ever replayed.
+     */
+    public String generateToken(UserDetails userDetails, String familyId) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_FAMILY, familyId);
+        return generateToken(claims, userDetails);
     }
 
     public String generateRefreshToken(UserDetails userDetails) {
-        return buildToken(new HashMap<>(), userDetails, refreshExpiration);
+        return generateRefreshToken(userDetails, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Generates a refresh token carrying the user's security version, so a refresh token issued
+     * before a password or role change cannot mint new tokens afterwards.
+     */
+    public String generateRefreshToken(UserDetails userDetails, String familyId) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_TOKEN_USE, TOKEN_USE_REFRESH);
+        claims.put(CLAIM_FAMILY, familyId);
+        if (userDetails instanceof User user) {
+            claims.put(CLAIM_USER_ID, user.getId());
+            claims.put(CLAIM_SECURITY_VERSION, user.getSecurityVersion());
+        }
+        return buildToken(claims, userDetails, refreshExpiration);
     }
 
     private String buildToken(
@@ -58,37 +184,40 @@ public class JwtService {
         return Jwts
                 .builder()
                 .setClaims(extraClaims)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(signInKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return verify(token)
+                .map(claims -> isTokenValid(claims, userDetails))
+                .orElse(false);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    public boolean isTokenValid(JwtClaims claims, UserDetails userDetails) {
+        return !claims.isRefreshToken()
+                && claims.getSubject() != null
+                && claims.getSubject().equals(userDetails.getUsername())
+                && !claims.isExpired();
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
+        return jwtParser
                 .parseClaimsJws(token)
                 .getBody();
     }
 
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
     }
 }
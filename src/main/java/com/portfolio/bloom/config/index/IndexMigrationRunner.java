@@ -0,0 +1,121 @@
+package com.portfolio.bloom.config.index;
+
+import com.mongodb.MongoCommandException;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Applies the {@link IndexRegistry} at startup, replacing
+ * {@code spring.data.mongodb.auto-index-creation}.
+ *
+ * <p>The applied registry version is recorded in the {@code migrations} collection, so once a
+ * deployment is current this is a single lookup. Otherwise obsolete indexes are dropped and
+ * every declared index is ensured; an existing index with the same name but different
+ * options is rebuilt. Index builds run on a background thread unless
+ * {@code application.mongodb.index-migration.async} is false, which the
+ * {@link QueryPlanVerifier} test uses so that a missing index fails the build.
+ */
+@Slf4j
+@Component
+public class IndexMigrationRunner implements ApplicationRunner {
+
+    private static final String MIGRATIONS = "migrations";
+    private static final String MIGRATION_ID = "index-registry";
+    private static final Set<Integer> OPTIONS_CONFLICT_CODES = Set.of(85, 86);
+
+    private final MongoTemplate mongoTemplate;
+    private final QueryPlanVerifier queryPlanVerifier;
+    private final boolean async;
+
+    public IndexMigrationRunner(
+            MongoTemplate mongoTemplate,
+            QueryPlanVerifier queryPlanVerifier,
+            @Value("${application.mongodb.index-migration.async:true}") boolean async) {
+        this.mongoTemplate = mongoTemplate;
+        this.queryPlanVerifier = queryPlanVerifier;
+        this.async = async;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!async) {
+            migrate();
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                migrate();
+            } catch (RuntimeException ex) {
+                log.error("Index migration failed", ex);
+            }
+        }, "index-migration");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void migrate() {
+        Document applied = mongoTemplate.findById(MIGRATION_ID, Document.class, MIGRATIONS);
+        int appliedVersion = applied != null ? applied.getInteger("version", 0) : 0;
+
+        if (appliedVersion < IndexRegistry.VERSION) {
+            long start = System.currentTimeMillis();
+            IndexRegistry.obsolete().forEach(this::dropObsolete);
+            IndexRegistry.indexes().forEach((entityClass, indexes) ->
+                    indexes.forEach(index -> ensure(mongoTemplate.indexOps(entityClass), index)));
+
+            mongoTemplate.upsert(
+                    new Query(Criteria.where("_id").is(MIGRATION_ID)),
+                    new Update().set("version", IndexRegistry.VERSION).set("appliedAt", new Date()),
+                    MIGRATIONS);
+            log.info("Applied index registry version {} in {} ms",
+                    IndexRegistry.VERSION, System.currentTimeMillis() - start);
+        }
+
+        queryPlanVerifier.verify();
+    }
+
+    private void dropObsolete(Class<?> entityClass, List<String> names) {
+        IndexOperations indexOps = mongoTemplate.indexOps(entityClass);
+        Set<String> existing = indexOps.getIndexInfo().stream()
+                .map(IndexInfo::getName)
+                .collect(Collectors.toSet());
+        names.stream()
+                .filter(existing::contains)
+                .forEach(name -> {
+                    indexOps.dropIndex(name);
+                    log.info("Dropped obsolete index {}.{}", mongoTemplate.getCollectionName(entityClass), name);
+                });
+    }
+
+    private void ensure(IndexOperations indexOps, IndexDefinition index) {
+        try {
+            indexOps.ensureIndex(index);
+        } catch (DataAccessException ex) {
+            if (!(ex.getMostSpecificCause() instanceof MongoCommandException command)
+                    || !OPTIONS_CONFLICT_CODES.contains(command.getErrorCode())) {
+                throw ex;
+            }
+            String name = index.getIndexOptions().getString("name");
+            log.info("Rebuilding index {} with changed options", name);
+            indexOps.dropIndex(name);
+            indexOps.ensureIndex(index);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.portfolio.bloom.config.index;
+
+import com.portfolio.bloom.domain.model.Token;
+import com.portfolio.bloom.domain.model.offer.Offer;
+import com.portfolio.bloom.domain.model.user.User;
+import com.portfolio.bloom.domain.model.venue.Venue;
+import com.portfolio.bloom.domain.repository.VenueSearchPlanner;
+import com.portfolio.bloom.domain.service.VenueEffectivePrice;
+import com.portfolio.bloom.domain.service.VenueOfferSummary;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.index.CompoundIndexDefinition;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Every index the application relies on, declared per collection next to the query shapes
+ * they serve.
+ *
+ * <p>Bump {@link #VERSION} whenever an index is added, changed or retired; the
+ * {@link IndexMigrationRunner} applies the registry once per version. Indexes filtered on
+ * {@code deleted: false} are partial, so soft-deleted documents cost nothing to maintain,
+ * and only queries that repeat that predicate can use them.
+ */
+public final class IndexRegistry {
+
+    public static final int VERSION = 8;
+
+    private static final Document NOT_DELETED = new Document("deleted", false);
+    private static final ObjectId SAMPLE_ID = new ObjectId(new Date(0), 0);
+    private static final String SAMPLE = "sample";
+
+    private IndexRegistry() {
+    }
+
+    /**
+     * Indexes to ensure, per entity.
+     */
+    public static Map<Class<?>, List<IndexDefinition>> indexes() {
+        Map<Class<?>, List<IndexDefinition>> indexes = new LinkedHashMap<>();
+        indexes.put(User.class, List.of(
+                compound(User.EMAIL_INDEX, new Document("email", 1))
+                        .unique().partial(PartialIndexFilter.of(NOT_DELETED)),
+                compound(User.PHONE_INDEX, new Document("phone.phoneNumber", 1))
+                        .unique().partial(PartialIndexFilter.of(new Document(NOT_DELETED)
+                                .append("phone.phoneNumber", new Document("$exists", true)))),
+                compound("security_version_sync", new Document("updated", 1))
+                        .partial(PartialIndexFilter.of(new Document("securityVersion", new Document("$gt", 0))))));
+        indexes.put(Token.class, List.of(
+                compound("token", new Document("token", 1)).unique(),
+                compound("jti", new Document("jti", 1)).unique().sparse(),
+                compound("userId", new Document("userId", 1)),
+                compound("familyId", new Document("familyId", 1)).sparse(),
+                compound("revoked_updated", new Document("revoked", 1).append("updated", 1)),
+                new Index().named("expiresAt").on("expiresAt", Sort.Direction.ASC)
+                        .expire(Duration.ZERO)));
+        List<IndexDefinition> venueIndexes = new ArrayList<>(List.of(
+                compound(Venue.NAME_INDEX, new Document("venueName", 1))
+                        .unique().partial(PartialIndexFilter.of(NOT_DELETED)),
+                compound("venue_name_scroll", new Document("deleted", 1).append("venueName", 1).append("_id", 1)),
+                compound("venue_created_scroll", new Document("deleted", 1).append("created", 1).append("_id", 1)),
+                compound("venue_price_scroll", new Document("deleted", 1)
+                        .append(VenueEffectivePrice.FIELD, 1).append("_id", 1)),
+                compound("venue_owner_name_scroll",
+                        new Document("userId", 1).append("deleted", 1).append("venueName", 1).append("_id", 1)),
+                compound("venue_owner_created_scroll",
+                        new Document("userId", 1).append("deleted", 1).append("created", 1).append("_id", 1)),
+                compound("venue_location", new Document(Venue.LOCATION, "2dsphere").append("deleted", 1)
+                        .append("venueType", 1).append("peopleType", 1)),
+                compound("venue_offer_summary", new Document(VenueOfferSummary.OFFER_ID, 1))));
+        VenueSearchPlanner.indexes().forEach(index -> {
+            Document document = new Document("deleted", 1);
+            index.keys().forEach(key -> document.append(key, 1));
+            venueIndexes.add(compound(index.name(), document));
+        });
+        indexes.put(Venue.class, venueIndexes);
+        indexes.put(Offer.class, List.of(
+                compound("offer_venue_window", new Document("venueId", 1).append("active", 1)
+                        .append("startDate", 1).append("endDate", 1).append("_id", 1))
+                        .partial(PartialIndexFilter.of(NOT_DELETED)),
+                compound("offer_start_scroll", new Document("deleted", 1).append("startDate", 1).append("_id", 1)),
+                compound("offer_end_lifecycle", new Document("deleted", 1).append("endDate", 1).append("_id", 1)),
+                compound("offer_created_scroll", new Document("deleted", 1).append("created", 1).append("_id", 1))));
+        return indexes;
+    }
+
+    /**
+     * Indexes created by earlier releases that the registry supersedes, per entity.
+     */
+    public static Map<Class<?>, List<String>> obsolete() {
+        return Map.of(
+                User.class, List.of("email"),
+                Venue.class, List.of("userId", "venue_type", "venue_search_city", "venue_search_type",
+                        "venue_search_people", "venue_search_capacity", "venue_search_price", "venue_search_rating"),
+                Offer.class, List.of("offer_venue"));
+    }
+
+    /**
+     * One representative of every repository and template query, used to check that each is
+     * answered from an index without an in-memory sort.
+     */
+    public static List<QueryShape> queryShapes() {
+        Date now = new Date();
+        List<QueryShape> shapes = new ArrayList<>(List.of(
+                new QueryShape("user by email or phone", User.class,
+                        new Document("$or", List.of(
+                                new Document("email", SAMPLE).append("deleted", false),
+                                new Document("phone.phoneNumber", SAMPLE).append("deleted", false)))),
+                new QueryShape("user by email", User.class,
+                        new Document("email", SAMPLE).append("deleted", false)),
+                new QueryShape("user security versions", User.class,
+                        new Document("securityVersion", new Document("$gt", 0))
+                                .append("updated", new Document("$gte", 0L))),
+                new QueryShape("token by value", Token.class,
+                        new Document("token", SAMPLE).append("deleted", false)),
+                new QueryShape("tokens of user", Token.class,
+                        new Document("userId", SAMPLE).append("revoked", false)
+                                .append("expiresAt", new Document("$gt", now)).append("deleted", false)),
+                new QueryShape("revoked tokens", Token.class,
+                        new Document("revoked", true).append("updated", new Document("$gte", 0L))
+                                .append("expiresAt", new Document("$gt", now))
+                                .append("jti", new Document("$exists", true))),
+                new QueryShape("refresh token by jti", Token.class,
+                        new Document("jti", SAMPLE).append("tokenType", "REFRESH")
+                                .append("revoked", false).append("deleted", false)),
+                new QueryShape("token family", Token.class,
+                        new Document("familyId", SAMPLE).append("revoked", false)
+                                .append("expiresAt", new Document("$gt", now))),
+                new QueryShape("venue by id", Venue.class,
+                        new Document("_id", SAMPLE_ID).append("deleted", false)),
+                new QueryShape("venue name", Venue.class,
+                        new Document("venueName", SAMPLE).append("deleted", false)),
+                new QueryShape("venues by name", Venue.class, NOT_DELETED,
+                        new Document("venueName", 1).append("_id", 1)),
+                new QueryShape("venues by creation", Venue.class, NOT_DELETED,
+                        new Document("created", -1).append("_id", -1)),
+                new QueryShape("venues by effective price", Venue.class, NOT_DELETED,
+                        new Document(VenueEffectivePrice.FIELD, 1).append("_id", 1)),
+                new QueryShape("venues scroll by name", Venue.class, NOT_DELETED,
+                        new Document("venueName", 1).append("_id", 1)),
+                new QueryShape("owner venues by name", Venue.class,
+                        new Document("userId", SAMPLE).append("deleted", false),
+                        new Document("venueName", 1).append("_id", 1)),
+                new QueryShape("owner venues scroll by creation", Venue.class,
+                        new Document("userId", SAMPLE).append("deleted", false),
+                        new Document("created", 1).append("_id", 1)),
+                new QueryShape("venues near a point", Venue.class,
+                        new Document(Venue.LOCATION, new Document("$nearSphere", new Document("$geometry",
+                                new Document("type", "Point").append("coordinates", List.of(0.0, 0.0)))
+                                .append("$maxDistance", 5000)))
+                                .append("deleted", false).append("venueType", SAMPLE)),
+                new QueryShape("venue listing offer", Venue.class,
+                        new Document(VenueOfferSummary.OFFER_ID, SAMPLE_ID)),
+                new QueryShape("offer by id", Offer.class,
+                        new Document("_id", SAMPLE_ID).append("deleted", false)),
+                new QueryShape("offers of venue", Offer.class,
+                        new Document("venueId", SAMPLE).append("active", new Document("$in", List.of(true, false)))
+                                .append("deleted", false),
+                        new Document("startDate", 1).append("endDate", 1).append("_id", 1)),
+                new QueryShape("active offers of venue", Offer.class,
+                        new Document("venueId", SAMPLE).append("active", new Document("$in", List.of(true)))
+                                .append("startDate", new Document("$lte", now))
+                                .append("endDate", new Document("$gt", now))
+                                .append("deleted", false),
+                        new Document("startDate", 1).append("endDate", 1).append("_id", 1)),
+                new QueryShape("offers by start", Offer.class, NOT_DELETED,
+                        new Document("startDate", 1).append("_id", 1)),
+                new QueryShape("offer starts due", Offer.class,
+                        new Document("deleted", false).append("startDate", new Document("$gt", now).append("$lte", now)),
+                        new Document("startDate", 1).append("_id", 1)),
+                new QueryShape("offer ends due", Offer.class,
+                        new Document("deleted", false).append("endDate", new Document("$gt", now).append("$lte", now)),
+                        new Document("endDate", 1).append("_id", 1)),
+                new QueryShape("live offers", Offer.class,
+                        new Document("deleted", false).append("endDate", new Document("$gt", now))
+                                .append("startDate", new Document("$lte", now)).append("active", true)),
+                new QueryShape("offers scroll by creation", Offer.class, NOT_DELETED,
+                        new Document("created", 1).append("_id", 1))));
+        VenueSearchPlanner.indexes().forEach(index -> shapes.add(new QueryShape(
+                "venue search on " + index.name(), Venue.class,
+                new Document("deleted", false).append(index.equalityField(), SAMPLE)
+                        .append(VenueSearchPlanner.CAPACITY, new Document("$gte", 1)),
+                new Document(index.sortField(), 1).append("_id", 1))));
+        VenueSearchPlanner.SORT_INDEXES.keySet().forEach(field -> shapes.add(new QueryShape(
+                "venue range search by " + field, Venue.class,
+                new Document("deleted", false).append(VenueSearchPlanner.RATING, new Document("$gte", 1)),
+                new Document(field, 1).append("_id", 1))));
+        return shapes;
+    }
+
+    private static Index compound(String name, Document keys) {
+        return new CompoundIndexDefinition(keys).named(name);
+    }
+
+    /**
+     * A filter and optional sort as issued by the application.
+     */
+    public record QueryShape(String name, Class<?> entityClass, Document filter, Document sort) {
+
+        public QueryShape(String name, Class<?> entityClass, Document filter) {
+            this(name, entityClass, filter, null);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.portfolio.bloom.config.index;
+
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Explains every {@link IndexRegistry#queryShapes() query shape} and reports plans that scan
+ * the collection or sort in memory.
+ *
+ * <p>Controlled by {@code application.mongodb.query-plan-verification}: {@code off} (default),
+ * {@code warn} to log offending plans, or {@code fail} to throw, which stops a synchronous
+ * startup. {@code QueryPlanVerifierTest} starts the application with {@code fail} against an
+ * empty Mongo container, so a query that loses its index fails the test run.
+ */
+@Slf4j
+@Component
+public class QueryPlanVerifier {
+
+    private static final Set<String> REJECTED_STAGES = Set.of("COLLSCAN", "SORT");
+
+    private final MongoTemplate mongoTemplate;
+    private final String mode;
+
+    public QueryPlanVerifier(
+            MongoTemplate mongoTemplate,
+            @Value("${application.mongodb.query-plan-verification:off}") String mode) {
+        this.mongoTemplate = mongoTemplate;
+        this.mode = mode.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @throws IllegalStateException in {@code fail} mode if any query shape is not index-backed
+     */
+    public void verify() {
+        if ("off".equals(mode)) {
+            return;
+        }
+
+        List<String> violations = new ArrayList<>();
+        for (IndexRegistry.QueryShape shape : IndexRegistry.queryShapes()) {
+            Set<String> stages = rejectedStages(shape);
+            if (!stages.isEmpty()) {
+                violations.add(shape.name() + " " + stages);
+            }
+        }
+
+        if (violations.isEmpty()) {
+            log.info("All {} query shapes are index-backed", IndexRegistry.queryShapes().size());
+        } else if ("fail".equals(mode)) {
+            throw new IllegalStateException("Queries without a usable index: " + violations);
+        } else {
+            log.warn("Queries without a usable index: {}", violations);
+        }
+    }
+
+    private Set<String> rejectedStages(IndexRegistry.QueryShape shape) {
+        Document find = new Document("find", mongoTemplate.getCollectionName(shape.entityClass()))
+                .append("filter", shape.filter())
+                .append("limit", 10);
+        if (shape.sort() != null) {
+            find.append("sort", shape.sort());
+        }
+        Document explain = mongoTemplate.getDb().runCommand(
+                new Document("explain", find).append("verbosity", "queryPlanner"));
+
+        Document plan = explain.get("queryPlanner", Document.class).get("winningPlan", Document.class);
+        // Slot-based engine plans wrap the classic plan tree
+        if (plan.containsKey("queryPlan")) {
+            plan = plan.get("queryPlan", Document.class);
+        }
+
+        Set<String> found = new TreeSet<>();
+        collectStages(plan, found);
+        found.retainAll(REJECTED_STAGES);
+        return found;
+    }
+
+    private static void collectStages(Document stage, Set<String> stages) {
+        if (stage == null) {
+            return;
+        }
+        String name = stage.getString("stage");
+        if (name != null) {
+            stages.add(name);
+        }
+        collectStages(stage.get("inputStage", Document.class), stages);
+        for (Document input : stage.getList("inputStages", Document.class, List.of())) {
+            collectStages(input, stages);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.portfolio.bloom.config.migration;
+
+import com.portfolio.bloom.config.JwtService;
+import com.portfolio.bloom.domain.dto.TokenType;
+import com.portfolio.bloom.domain.model.Token;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Moves tokens that older releases embedded in {@code users.tokens} into the {@code tokens}
+ * collection and removes the embedded array.
+ *
+ * <p>Only tokens that still verify are copied; expired ones would be removed by the TTL index
+ * straight away. Tokens are upserted by value, so the migration can safely be re-run after an
+ * interruption. Once no user document carries a {@code tokens} field this is a single
+ * empty query at startup.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EmbeddedTokenMigration implements ApplicationRunner {
+
+    private static final String USERS = "users";
+    private static final String EMBEDDED_TOKENS = "tokens";
+
+    private final MongoTemplate mongoTemplate;
+    private final JwtService jwtService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Query usersWithTokens = new Query(Criteria.where(EMBEDDED_TOKENS).exists(true));
+        usersWithTokens.fields().include(EMBEDDED_TOKENS);
+
+        int users = 0;
+        int migrated = 0;
+        try (Stream<Document> stream = mongoTemplate.stream(usersWithTokens, Document.class, USERS)) {
+            for (Document user : (Iterable<Document>) stream::iterator) {
+                migrated += migrate(user);
+                users++;
+            }
+        }
+
+        if (users > 0) {
+            log.info("Moved {} embedded tokens from {} users into the token store", migrated, users);
+        }
+    }
+
+    private int migrate(Document user) {
+        Object userId = user.get("_id");
+        List<Document> embedded = user.getList(EMBEDDED_TOKENS, Document.class, List.of());
+
+        int migrated = 0;
+        if (!embedded.isEmpty()) {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Token.class);
+            for (Document token : embedded) {
+                String value = token.getString("token");
+                if (value == null) {
+                    continue;
+                }
+                var claims = jwtService.verify(value);
+                if (claims.isEmpty()) {
+                    continue;
+                }
+
+                Update update = new Update()
+                        .setOnInsert("tokenType", token.get("tokenType", TokenType.BEARER.name()))
+                        .setOnInsert("revoked", token.getBoolean("revoked", false))
+                        .setOnInsert("expired", token.getBoolean("expired", false))
+                        .setOnInsert("userId", String.valueOf(userId))
+                        .setOnInsert("expiresAt", claims.get().getExpiration())
+                        .setOnInsert("created", token.get("created") != null ? token.get("created") : new Date().getTime())
+                        .setOnInsert("deleted", false);
+                bulk.upsert(new Query(Criteria.where("token").is(value)), update);
+                migrated++;
+            }
+            if (migrated > 0) {
+                bulk.execute();
+            }
+        }
+
+        mongoTemplate.updateFirst(
+                new Query(Criteria.where("_id").is(userId)),
+                new Update().unset(EMBEDDED_TOKENS),
+                USERS);
+        return migrated;
+    }
+}
@@ -0,0 +1,50 @@
+package com.portfolio.bloom.config.migration;
+
+import com.portfolio.bloom.domain.model.venue.Venue;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.schema.JsonSchemaObject;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Fills {@code venues.location} from the address coordinates for venues saved before the
+ * field existed.
+ *
+ * <p>A single pipeline update does the work on the server. Venues that already have a
+ * location or have no coordinates are left alone, so after the first run this matches nothing.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VenueLocationMigration implements ApplicationRunner {
+
+    private static final String LATITUDE = "address.latitude";
+    private static final String LONGITUDE = "address.longitude";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Query withoutLocation = new Query(Criteria.where(Venue.LOCATION).exists(false)
+                .and(LATITUDE).type(JsonSchemaObject.Type.numberType())
+                .and(LONGITUDE).type(JsonSchemaObject.Type.numberType()));
+        Document point = new Document("type", "Point")
+                .append("coordinates", List.of("$" + LONGITUDE, "$" + LATITUDE));
+        AggregationUpdate update = AggregationUpdate.from(List.of(
+                context -> new Document("$set", new Document(Venue.LOCATION, point))));
+
+        long updated = mongoTemplate.updateMulti(withoutLocation, update, Venue.class).getModifiedCount();
+        if (updated > 0) {
+            log.info("Set the location of {} venues from their address", updated);
+        }
+    }
+}
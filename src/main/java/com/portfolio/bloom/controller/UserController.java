@@ -3,6 +3,7 @@ package com.portfolio.bloom.controller;
 import com.portfolio.bloom.common.UserUtil;
 import com.portfolio.bloom.domain.dto.UserDto;
 import com.portfolio.bloom.domain.dto.UserResponseDto;
+import com.portfolio.bloom.domain.model.user.Role;
 import com.portfolio.bloom.domain.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -28,11 +29,14 @@ public class UserController {
     public ResponseEntity<UserResponseDto> getCurrentUser() {
         UserResponseDto user = userUtil.getCurrentUser();
         
-        if (user != null) {
-            return ResponseEntity.ok(user);
-        } else {
+        if (user == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
+
+        // The principal may have been built from token claims only, so load the full profile
+        return userService.getUserById(user.getId())
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
     }
 
     @PutMapping("/me")
@@ -49,4 +53,30 @@ public class UserController {
         return updatedUser.map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
     }
+
+    @DeleteMapping("/me")
+    public ResponseEntity<?> deleteCurrentUser() {
+        UserResponseDto currentUser = userUtil.getCurrentUser();
+        
+        if (currentUser == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        if (userService.deleteUser(currentUser.getId())) {
+            return ResponseEntity.ok().build();
+        } else {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PutMapping("/{id}/role")
+    public ResponseEntity<UserResponseDto> updateUserRole(
+            @PathVariable String id,
+            @RequestParam Role role) {
+        Optional<UserResponseDto> updatedUser = userService.updateUserRole(id, role);
+        
+        return updatedUser.map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
 }
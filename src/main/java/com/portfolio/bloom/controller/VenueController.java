@@ -2,19 +2,27 @@ package com.portfolio.bloom.controller;
 
 import com.portfolio.bloom.common.Constants;
 import com.portfolio.bloom.common.UserUtil;
+import com.portfolio.bloom.domain.dto.CursorSlice;
 import com.portfolio.bloom.domain.dto.VenueDto;
+import com.portfolio.bloom.domain.dto.VenueSearchFilter;
+import com.portfolio.bloom.domain.dto.VenueSummaryDto;
+import com.portfolio.bloom.domain.repository.CountMode;
+import com.portfolio.bloom.domain.repository.QueryPolicy;
+import com.portfolio.bloom.domain.repository.QueryPolicy.Listing;
+import com.portfolio.bloom.domain.repository.QueryPolicy.SortKey;
 import com.portfolio.bloom.domain.service.VenueService;
+import com.portfolio.bloom.error.CommonException;
+import com.portfolio.bloom.error.ErrorEnum;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -27,21 +35,114 @@ public class VenueController {
 
     private final VenueService venueService;
     private final UserUtil userUtil;
+    private final QueryPolicy queryPolicy;
 
+    private static final String VIEW_FULL = "full";
+    private static final String VIEW_SUMMARY = "summary";
+
+    /**
+     * Lists venues. {@code view=summary} returns {@link VenueSummaryDto}s, and {@code fields}
+     * returns only the named properties; both read nothing else from the database.
+     * {@code count} selects how the total is computed: {@code exact}, {@code cached}
+     * (default) or {@code estimated}. Sort keys and page sizes are checked by {@link QueryPolicy}.
+     */
     @GetMapping
-    public ResponseEntity<Page<VenueDto>> getAllVenues(
+    public ResponseEntity<Page<?>> getAllVenues(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "venueName") String sortBy,
             @RequestParam(defaultValue = "ASC") String direction,
+            @RequestParam(defaultValue = VIEW_FULL) String view,
+            @RequestParam(required = false) List<String> fields,
+            @RequestParam(defaultValue = "cached") String count,
             @RequestHeader(name = Constants.LANGUAGE_HEADER, defaultValue = Constants.DEFAULT_LANGUAGE) String lang) {
 
         String effectiveLang = userUtil.getLanguagePreference(lang);
-        Sort.Direction sortDirection = Sort.Direction.fromString(direction);
-        Pageable pageable = PageRequest.of(page, size, sortDirection, sortBy);
-        Page<VenueDto> venuesPage = venueService.getAllVenues(pageable, effectiveLang);
+        Pageable pageable = queryPolicy.pageable(Listing.VENUES, page, size, sortBy, direction);
 
-        return ResponseEntity.ok(venuesPage);
+        return ResponseEntity.ok(listVenues(null, pageable, countMode(count), effectiveLang, view, fields));
+    }
+
+    /**
+     * Venues matching any combination of type, city, capacity, price and rating filters, each
+     * served from a search index.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<Page<VenueDto>> searchVenues(
+            @Valid @ModelAttribute VenueSearchFilter filter,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "venueName") String sortBy,
+            @RequestParam(defaultValue = "ASC") String direction,
+            @RequestParam(defaultValue = "cached") String count,
+            @RequestHeader(name = Constants.LANGUAGE_HEADER, defaultValue = Constants.DEFAULT_LANGUAGE) String lang) {
+
+        String effectiveLang = userUtil.getLanguagePreference(lang);
+        Pageable pageable = queryPolicy.pageable(Listing.VENUE_SEARCH, page, size, sortBy, direction);
+
+        return ResponseEntity.ok(venueService.searchVenues(filter, pageable, countMode(count), effectiveLang));
+    }
+
+    /**
+     * Keyset-paginated venue listing for infinite scroll and crawlers.
+     */
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorSlice<VenueDto>> scrollVenues(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "venueName") String sortBy,
+            @RequestParam(defaultValue = "ASC") String direction,
+            @RequestHeader(name = Constants.LANGUAGE_HEADER, defaultValue = Constants.DEFAULT_LANGUAGE) String lang) {
+
+        String effectiveLang = userUtil.getLanguagePreference(lang);
+        SortKey sort = queryPolicy.sort(Listing.VENUES, sortBy, direction);
+        int pageSize = queryPolicy.pageSize(Listing.VENUES, size);
+
+        return ResponseEntity.ok(
+                venueService.scrollVenues(null, sort.field(), sort.direction(), pageSize, cursor, effectiveLang));
+    }
+
+    /**
+     * Venues within {@code radius} meters of a point, nearest first. Paged with the
+     * {@code nextCursor} of the previous slice.
+     */
+    @GetMapping("/nearby")
+    public ResponseEntity<CursorSlice<VenueDto>> getNearbyVenues(
+            @RequestParam double lat,
+            @RequestParam double lng,
+            @RequestParam(defaultValue = "5000") int radius,
+            @RequestParam(required = false) String venueType,
+            @RequestParam(required = false) String peopleType,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestHeader(name = Constants.LANGUAGE_HEADER, defaultValue = Constants.DEFAULT_LANGUAGE) String lang) {
+
+        String effectiveLang = userUtil.getLanguagePreference(lang);
+        int pageSize = queryPolicy.pageSize(Listing.NEARBY_VENUES, size);
+
+        return ResponseEntity.ok(venueService.findNearby(lat, lng, queryPolicy.radius(radius), venueType, peopleType,
+                pageSize, cursor, effectiveLang));
+    }
+
+    @GetMapping("/my-venues/scroll")
+    public ResponseEntity<CursorSlice<VenueDto>> scrollMyVenues(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "venueName") String sortBy,
+            @RequestParam(defaultValue = "ASC") String direction,
+            @RequestHeader(name = Constants.LANGUAGE_HEADER, defaultValue = Constants.DEFAULT_LANGUAGE) String lang) {
+
+        var currentUser = userUtil.getCurrentUser();
+        if (currentUser == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        String effectiveLang = userUtil.getLanguagePreference(lang);
+        SortKey sort = queryPolicy.sort(Listing.OWNER_VENUES, sortBy, direction);
+        int pageSize = queryPolicy.pageSize(Listing.OWNER_VENUES, size);
+
+        return ResponseEntity.ok(venueService.scrollVenues(
+                currentUser.getId(), sort.field(), sort.direction(), pageSize, cursor, effectiveLang));
     }
 
     @GetMapping("/{id}")
@@ -57,11 +158,14 @@ public class VenueController {
     }
 
     @GetMapping("/my-venues")
-    public ResponseEntity<Page<VenueDto>> getMyVenues(
+    public ResponseEntity<Page<?>> getMyVenues(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "venueName") String sortBy,
             @RequestParam(defaultValue = "ASC") String direction,
+            @RequestParam(defaultValue = VIEW_FULL) String view,
+            @RequestParam(required = false) List<String> fields,
+            @RequestParam(defaultValue = "cached") String count,
             @RequestHeader(name = Constants.LANGUAGE_HEADER, defaultValue = Constants.DEFAULT_LANGUAGE) String lang) {
 
         var currentUser = userUtil.getCurrentUser();
@@ -70,11 +174,9 @@ public class VenueController {
         }
 
         String effectiveLang = userUtil.getLanguagePreference(lang);
-        Sort.Direction sortDirection = Sort.Direction.fromString(direction);
-        Pageable pageable = PageRequest.of(page, size, sortDirection, sortBy);
-        Page<VenueDto> venuesPage = venueService.getVenuesByUserId(currentUser.getId(), pageable, effectiveLang);
+        Pageable pageable = queryPolicy.pageable(Listing.OWNER_VENUES, page, size, sortBy, direction);
 
-        return ResponseEntity.ok(venuesPage);
+        return ResponseEntity.ok(listVenues(currentUser.getId(), pageable, countMode(count), effectiveLang, view, fields));
     }
 
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
@@ -87,13 +189,12 @@ public class VenueController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        Optional<VenueDto> createdVenue = venueService.createVenue(venueDto, currentUser.getId());
+        VenueDto createdVenue = venueService.createVenue(venueDto, currentUser.getId());
         
-        return createdVenue.map(dto -> ResponseEntity.status(HttpStatus.CREATED).body(dto))
-                .orElseGet(() -> ResponseEntity.status(HttpStatus.BAD_REQUEST).build());
+        return ResponseEntity.status(HttpStatus.CREATED).body(createdVenue);
     }
 
-    @PreAuthorize("hasRole('ADMIN') or @ownableSecurity.isOwner(#id, 'venue')")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     @PutMapping("/{id}")
     public ResponseEntity<VenueDto> updateVenue(
             @PathVariable String id,
@@ -105,7 +206,7 @@ public class VenueController {
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
-    @PreAuthorize("hasRole('ADMIN') or @ownableSecurity.isOwner(#id, 'venue')")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteVenue(@PathVariable String id) {
         boolean deleted = venueService.deleteVenue(id);
@@ -116,4 +217,22 @@ public class VenueController {
             return ResponseEntity.notFound().build();
         }
     }
+
+    private Page<?> listVenues(String userId, Pageable pageable, CountMode countMode, String lang, String view,
+            List<String> fields) {
+        if (VIEW_SUMMARY.equalsIgnoreCase(view)) {
+            return venueService.getVenueSummaries(userId, pageable, countMode, lang);
+        }
+        if (fields != null && !fields.isEmpty()) {
+            return venueService.getVenueFields(userId, pageable, countMode, lang, fields);
+        }
+        return userId != null
+                ? venueService.getVenuesByUserId(userId, pageable, countMode, lang)
+                : venueService.getAllVenues(pageable, countMode, lang);
+    }
+
+    private static CountMode countMode(String count) {
+        return CountMode.from(count)
+                .orElseThrow(() -> new CommonException(ErrorEnum.INVALID_REQUEST));
+    }
 }
@@ -0,0 +1,47 @@
+package com.portfolio.bloom.domain.common;
+
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Date;
+import java.util.function.Function;
+
+/**
+ * Collects the non-null fields of a partial update into a single {@code $set}.
+ *
+ * <p>Fields left {@code null} in the request are skipped, so only what the client sent is
+ * written. {@link #toUpdate()} also stamps {@code updated} and increments {@code version},
+ * which lets a write filtered on the expected version detect concurrent edits.
+ */
+public final class PatchUpdate {
+
+    public static final String VERSION = "version";
+
+    private final Update update = new Update();
+
+    private PatchUpdate() {
+    }
+
+    public static PatchUpdate create() {
+        return new PatchUpdate();
+    }
+
+    public PatchUpdate set(String field, Object value) {
+        if (value != null) {
+            update.set(field, value);
+        }
+        return this;
+    }
+
+    public <T> PatchUpdate set(String field, T value, Function<T, ?> mapper) {
+        if (value != null) {
+            update.set(field, mapper.apply(value));
+        }
+        return this;
+    }
+
+    public Update toUpdate() {
+        return update
+                .set("updated", new Date().getTime())
+                .inc(VERSION, 1);
+    }
+}
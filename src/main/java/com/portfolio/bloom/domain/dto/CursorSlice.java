@@ -0,0 +1,22 @@
+package com.portfolio.bloom.domain.dto;
+
+import lombok.Value;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing. Pass {@code nextCursor} back as {@code cursor} to
+ * read the following page; it is null on the last page.
+ */
+@Value
+public class CursorSlice<T> {
+
+    List<T> content;
+    String nextCursor;
+    boolean hasNext;
+
+    public <R> CursorSlice<R> map(Function<? super T, ? extends R> mapper) {
+        return new CursorSlice<>(content.stream().<R>map(mapper).toList(), nextCursor, hasNext);
+    }
+}
@@ -46,6 +46,12 @@ public class OfferDto extends BaseEntity<String> {
     private String venueId;
     private Boolean active;
 
+    /**
+     * Current document version. Send it back on update to reject the write with 409 if the
+     * offer was changed in the meantime.
+     */
+    private Long version;
+
     @AssertTrue(message = "Offer start date must be today or in the future")
     public boolean isStartDateValid() {
         return startDate == null || !startDate.isBefore(Instant.now());
@@ -77,6 +83,7 @@ public class OfferDto extends BaseEntity<String> {
                 .userId(entity.getUserId())
                 .venueId(entity.getVenueId())
                 .active(entity.isActive())
+                .version(entity.getVersion())
                 .build();
     }
 
@@ -9,5 +9,6 @@ import lombok.RequiredArgsConstructor;
 @Getter
 @RequiredArgsConstructor
 public enum TokenType {
-    BEARER
+    BEARER,
+    REFRESH
 }
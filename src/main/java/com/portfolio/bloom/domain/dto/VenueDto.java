@@ -1,7 +1,7 @@
 package com.portfolio.bloom.domain.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.portfolio.bloom.common.BaseEntity;
-import com.portfolio.bloom.common.translation.LangList;
 import com.portfolio.bloom.domain.dto.OfferDto;
 import com.portfolio.bloom.domain.model.user.Address;
 import com.portfolio.bloom.domain.model.venue.PeopleType;
@@ -60,6 +60,11 @@ public class VenueDto extends BaseEntity<String> {
     @DecimalMin(value = "0.0", inclusive = true, message = "Venue low price must be a positive number")
     private BigDecimal lowPrice;
 
+    /**
+     * Lower of {@code lowPrice} and the live offers' final prices; ignored on writes.
+     */
+    private BigDecimal effectivePrice;
+
     @NotNull(message = "Venue type is required")
     private String venueType;
     
@@ -74,10 +79,25 @@ public class VenueDto extends BaseEntity<String> {
     @Builder.Default
     private String baseCurrency = "USD";
 
+    /**
+     * Best live offers of the venue, kept in sync from the offers collection; ignored on writes.
+     */
     private List<OfferDto> offers;
 
     private String baseImage;
 
+    /**
+     * Current document version. Send it back on update to reject the write with 409 if the
+     * venue was changed in the meantime.
+     */
+    private Long version;
+
+    /**
+     * Meters from the search origin; only set by nearby search.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long distance;
+
     public VenueType getVenueTypeEnum() {
         try {
             return venueType != null ? VenueType.valueOf(venueType.toUpperCase()) : null;
@@ -120,12 +140,14 @@ public class VenueDto extends BaseEntity<String> {
                 .description(entity.getDescription())
                 .highPrice(entity.getHighPrice())
                 .lowPrice(entity.getLowPrice())
+                .effectivePrice(entity.getEffectivePrice())
                 .venueType(entity.getVenueType() != null ? entity.getVenueType().name() : null)
                 .peopleType(entity.getPeopleType() != null ? entity.getPeopleType().name() : null)
                 .rating(entity.getRating())
                 .priceType(entity.getPriceType() != null ? entity.getPriceType().name() : null)
                 .baseCurrency(entity.getBaseCurrency())
                 .baseImage(entity.getBaseImage())
+                .version(entity.getVersion())
                 .build();
 
         if (entity.getOffers() != null) {
@@ -159,37 +181,6 @@ public class VenueDto extends BaseEntity<String> {
                 .baseImage(dto.getBaseImage())
                 .build();
 
-        if (dto.getOffers() != null) {
-            entity.setOffers(dto.getOffers().stream()
-                    .map(OfferDto::toEntity)
-                    .collect(Collectors.toList()));
-        }
-
         return entity;
     }
-
-    /**
-     * Translates venue DTO fields based on the provided language.
-     * 
-     * @param venueDto Venue DTO to translate
-     * @param lang Language code (e.g., "en", "ar", "he")
-     */
-    public static void translateVenue(VenueDto venueDto, String lang) {
-        if (venueDto == null || venueDto.getTranslations() == null) {
-            return;
-        }
-        
-        com.portfolio.bloom.common.Translation translation = new com.portfolio.bloom.common.Translation();
-        translation.setTranslations(venueDto.getTranslations());
-
-        if (LangList.isValid(translation, "venueName", lang)) {
-            venueDto.setVenueName(venueDto.getTranslations().get("venueName").get(lang));
-        }
-
-        if (LangList.isValid(translation, "description", lang)) {
-            venueDto.setDescription(venueDto.getTranslations().get("description").get(lang));
-        }
-
-        // Translation support can be added for offers if needed
-    }
 }
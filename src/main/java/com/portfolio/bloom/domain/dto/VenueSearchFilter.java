@@ -0,0 +1,50 @@
+package com.portfolio.bloom.domain.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Optional filters of a venue search, bound from query parameters. Unset filters match any
+ * venue; ranges are inclusive.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VenueSearchFilter {
+
+    private String venueType;
+
+    private String peopleType;
+
+    private String priceType;
+
+    /** Exact city name as stored in the address. */
+    private String city;
+
+    @Min(value = 1, message = "Minimum capacity must be at least 1")
+    private Integer minCapacity;
+
+    @Max(value = 50000, message = "Maximum capacity cannot exceed 50,000")
+    private Integer maxCapacity;
+
+    /** Lower bound on the venue's low price. */
+    @DecimalMin(value = "0.0", message = "Minimum price must be a positive number")
+    private BigDecimal minPrice;
+
+    /** Upper bound on the venue's low price. */
+    @DecimalMin(value = "0.0", message = "Maximum price must be a positive number")
+    private BigDecimal maxPrice;
+
+    @DecimalMin(value = "0.0", message = "Minimum rating must be at least 0")
+    @DecimalMax(value = "5.0", message = "Minimum rating cannot exceed 5")
+    private Double minRating;
+}
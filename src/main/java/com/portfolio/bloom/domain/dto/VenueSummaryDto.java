@@ -0,0 +1,63 @@
+package com.portfolio.bloom.domain.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.portfolio.bloom.domain.model.venue.Venue;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Slim venue representation for list screens ({@code view=summary}).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class VenueSummaryDto {
+
+    /**
+     * Document paths read for a summary; everything else stays in the database.
+     */
+    public static final List<String> FIELDS = List.of(
+            "venueName", "venueType", "address.city", "lowPrice", "highPrice", "effectivePrice",
+            "baseCurrency", "rating", "baseImage", "offers");
+
+    private String id;
+    private String venueName;
+    private String venueType;
+    private String city;
+    private BigDecimal lowPrice;
+    private BigDecimal highPrice;
+    private BigDecimal effectivePrice;
+    private String baseCurrency;
+    private Double rating;
+    private String baseImage;
+    private List<OfferDto> offers;
+
+    public static VenueSummaryDto fromEntity(Venue entity) {
+        if (entity == null) {
+            return null;
+        }
+
+        return VenueSummaryDto.builder()
+                .id(entity.getId())
+                .venueName(entity.getVenueName())
+                .venueType(entity.getVenueType() != null ? entity.getVenueType().name() : null)
+                .city(entity.getAddress() != null ? entity.getAddress().getCity() : null)
+                .lowPrice(entity.getLowPrice())
+                .highPrice(entity.getHighPrice())
+                .effectivePrice(entity.getEffectivePrice())
+                .baseCurrency(entity.getBaseCurrency())
+                .rating(entity.getRating())
+                .baseImage(entity.getBaseImage())
+                .offers(entity.getOffers() != null
+                        ? entity.getOffers().stream().map(OfferDto::fromEntity).toList()
+                        : null)
+                .build();
+    }
+}
@@ -9,10 +9,15 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
 
 /**
  * JWT token entity for token management.
+ * Stored in its own collection; MongoDB removes each document once {@code expiresAt} has passed.
  */
+@Document(collection = "tokens")
 @Data
 @EqualsAndHashCode(callSuper = false)
 @SuperBuilder
@@ -21,6 +26,8 @@ import lombok.experimental.SuperBuilder;
 public class Token extends BaseEntity<String> {
     
     private String token;
+
+    private String jti;
     
     @NotBlank
     @Builder.Default
@@ -28,5 +35,10 @@ public class Token extends BaseEntity<String> {
     
     private boolean revoked;
     private boolean expired;
+
     private String userId;
+
+    private String familyId;
+
+    private Instant expiresAt;
 }
@@ -11,6 +11,7 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.math.BigDecimal;
@@ -57,6 +58,9 @@ public class Offer extends BaseEntity<String> implements Ownable {
     @Builder.Default
     private boolean active = true;
 
+    @Version
+    private Long version;
+
     @AssertTrue(message = "Offer start date must be today or in the future")
     public boolean isStartDateValid() {
         return startDate == null || !startDate.isBefore(Instant.now());
@@ -7,13 +7,11 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
-import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
-import java.util.List;
 
 /**
  * User domain entity implementing Spring Security's UserDetails.
@@ -27,6 +25,10 @@ import java.util.List;
 @EqualsAndHashCode(callSuper = true)
 public class User extends BaseEntity<String> implements UserDetails {
 
+    /** Unique among non-deleted users; a duplicate insert fails with one of these index names. */
+    public static final String EMAIL_INDEX = "user_email_unique";
+    public static final String PHONE_INDEX = "user_phone_unique";
+
     @NotNull(message = "Firstname cannot be null")
     @NotBlank(message = "Firstname cannot be empty or null")
     private String firstname;
@@ -44,7 +46,6 @@ public class User extends BaseEntity<String> implements UserDetails {
 
     @NotBlank(message = "Email cannot be empty")
     @Email
-    @Indexed(unique = true)
     private String email;
 
     @JsonIgnore
@@ -55,11 +56,20 @@ public class User extends BaseEntity<String> implements UserDetails {
 
     private boolean emailVerified;
 
-    private List<com.portfolio.bloom.domain.model.Token> tokens;
+    /**
+     * Incremented whenever the user's role or password changes or the account is deleted.
+     * Tokens carrying an older version are rejected in self-contained JWT mode.
+     */
+    @JsonIgnore
+    private long securityVersion;
 
     public void setEmail(String email) {
         if (email == null) return;
-        this.email = email.trim().toLowerCase();
+        this.email = normalizeEmail(email);
+    }
+
+    public static String normalizeEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase();
     }
 
     // UserDetails implementation
@@ -14,8 +14,11 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
-import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -31,12 +34,16 @@ import java.util.List;
 @JsonIgnoreProperties
 @EqualsAndHashCode(callSuper = true)
 public class Venue extends BaseEntity<String> implements Ownable {
+
+    /** Unique among non-deleted venues; a duplicate insert fails with this index name. */
+    public static final String NAME_INDEX = "venue_name_unique";
+
+    public static final String LOCATION = "location";
     
     @NotBlank(message = "Venue name is required")
     @Size(max = 100, message = "Venue name must not exceed 100 characters")
     private String venueName;
     
-    @Indexed
     @NotBlank(message = "User ID is required")
     private String userId;
 
@@ -54,12 +61,18 @@ public class Venue extends BaseEntity<String> implements Ownable {
 
     @DecimalMax(value = "999999.99", message = "Venue high price must be less than 1,000,000")
     @DecimalMin(value = "0.0", inclusive = true, message = "Venue high price must be a positive number")
+    @Field(targetType = FieldType.DECIMAL128)
     private BigDecimal highPrice;
 
     @DecimalMax(value = "999999.99", message = "Venue low price must be less than 1,000,000")
     @DecimalMin(value = "0.0", inclusive = true, message = "Venue low price must be a positive number")
+    @Field(targetType = FieldType.DECIMAL128)
     private BigDecimal lowPrice;
 
+    /** Lower of {@code lowPrice} and the live offers' final prices; maintained by {@code VenueEffectivePrice}. */
+    @Field(targetType = FieldType.DECIMAL128)
+    private BigDecimal effectivePrice;
+
     @NotNull(message = "Venue type is required")
     @EnumTypeExists(message = "Venue type is not valid", enumClass = VenueType.class)
     private VenueType venueType;
@@ -83,4 +96,20 @@ public class Venue extends BaseEntity<String> implements Ownable {
     private List<@Valid Offer> offers;
 
     private String baseImage;
+
+    /** Derived from the address coordinates by {@link #locationOf}; backs nearby search. */
+    private GeoJsonPoint location;
+
+    @Version
+    private Long version;
+
+    /**
+     * @return The GeoJSON point of the address, or null if it has no coordinates
+     */
+    public static GeoJsonPoint locationOf(Address address) {
+        if (address == null || address.getLatitude() == null || address.getLongitude() == null) {
+            return null;
+        }
+        return new GeoJsonPoint(address.getLongitude(), address.getLatitude());
+    }
 }
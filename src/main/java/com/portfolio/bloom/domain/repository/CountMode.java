@@ -0,0 +1,33 @@
+package com.portfolio.bloom.domain.repository;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * How the total of a paged query is computed.
+ */
+public enum CountMode {
+
+    /** {@code countDocuments} on every request. */
+    EXACT,
+
+    /** Exact count reused for a short TTL and dropped on writes to the collection. */
+    CACHED,
+
+    /**
+     * Collection metadata count; only used for unfiltered listings, falling back to
+     * {@link #CACHED} otherwise. Includes soft-deleted documents.
+     */
+    ESTIMATED;
+
+    public static Optional<CountMode> from(String value) {
+        if (value == null || value.isBlank()) {
+            return Optional.of(CACHED);
+        }
+        try {
+            return Optional.of(valueOf(value.trim().toUpperCase(Locale.ROOT)));
+        } catch (IllegalArgumentException ex) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.portfolio.bloom.domain.repository;
+
+import com.portfolio.bloom.domain.dto.CursorSlice;
+import org.bson.Document;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonParseException;
+import org.bson.json.JsonWriterSettings;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Opaque position in a listing ordered by one field with {@code _id} as tie-breaker.
+ *
+ * <p>The cursor carries the sort field, direction and the raw BSON values of the last row
+ * returned, encoded as extended JSON in URL-safe base64 so types such as {@code ObjectId},
+ * dates and decimals survive the round trip. The next page is then a range query on the
+ * {@code (field, _id)} index instead of a skip over every earlier row.
+ */
+public final class KeysetCursor {
+
+    /**
+     * Copy of the sort value kept by {@link #keepSortKey()} for pipelines that rewrite the sort
+     * field after sorting, such as localization.
+     */
+    public static final String SORT_KEY = "_sortKey";
+
+    private static final String ID = "_id";
+    private static final JsonWriterSettings JSON = JsonWriterSettings.builder()
+            .outputMode(JsonMode.EXTENDED)
+            .build();
+
+    private final String field;
+    private final Sort.Direction direction;
+    private final Object value;
+    private final Object id;
+
+    private KeysetCursor(String field, Sort.Direction direction, Object value, Object id) {
+        this.field = field;
+        this.direction = direction;
+        this.value = value;
+        this.id = id;
+    }
+
+    /**
+     * @param token Cursor from a previous slice, or null for the first page
+     * @return The position to continue from, or empty if the token is malformed, was issued
+     *         for another sort or carries a document or array value
+     */
+    public static Optional<KeysetCursor> decode(String token, String field, Sort.Direction direction) {
+        if (token == null || token.isBlank()) {
+            return Optional.of(new KeysetCursor(field, direction, null, null));
+        }
+        try {
+            Document document = Document.parse(
+                    new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8));
+            if (!field.equals(document.getString("f")) || !direction.name().equals(document.getString("d"))
+                    || !(document.get("i") instanceof ObjectId)
+                    || document.get("v") instanceof Document || document.get("v") instanceof List) {
+                // Values end up in the query, so anything that could carry an operator is refused
+                return Optional.empty();
+            }
+            return Optional.of(new KeysetCursor(field, direction, document.get("v"), document.get("i")));
+        } catch (IllegalArgumentException | ClassCastException | JsonParseException ex) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * @return The sort value of the last row returned, or null on the first page
+     */
+    Object lastValue() {
+        return value;
+    }
+
+    public Sort sort() {
+        return Sort.by(direction, field, ID);
+    }
+
+    /**
+     * Rows strictly after this position, keeping MongoDB's ordering of missing values before
+     * any other value.
+     */
+    public Criteria criteria() {
+        if (id == null) {
+            return new Criteria();
+        }
+        if (direction.isAscending()) {
+            return value == null
+                    ? new Criteria().orOperator(
+                            Criteria.where(field).ne(null),
+                            Criteria.where(field).is(null).and(ID).gt(id))
+                    : new Criteria().orOperator(
+                            Criteria.where(field).gt(value),
+                            Criteria.where(field).is(value).and(ID).gt(id));
+        }
+        return value == null
+                ? Criteria.where(field).is(null).and(ID).lt(id)
+                : new Criteria().orOperator(
+                        Criteria.where(field).lt(value),
+                        Criteria.where(field).is(value).and(ID).lt(id),
+                        Criteria.where(field).is(null));
+    }
+
+    /**
+     * Stage that copies the stored sort value to {@link #SORT_KEY}; {@link #slice} encodes that
+     * copy, so the next page is compared against stored values, not rewritten ones.
+     */
+    public AggregationOperation keepSortKey() {
+        return context -> new Document("$set",
+                new Document(SORT_KEY, new Document("$ifNull", Arrays.asList("$" + field, null))));
+    }
+
+    /**
+     * Builds the slice from up to {@code size + 1} raw rows read with {@link #sort()}; the
+     * extra row only signals that another page exists.
+     */
+    public <T> CursorSlice<T> slice(List<Document> rows, int size, Function<Document, T> reader) {
+        boolean hasNext = rows.size() > size;
+        List<Document> page = hasNext ? rows.subList(0, size) : rows;
+        String next = null;
+        if (hasNext) {
+            Document last = page.get(page.size() - 1);
+            next = encode(last.containsKey(SORT_KEY) ? last.get(SORT_KEY) : last.get(field), last.get(ID));
+        }
+        return new CursorSlice<>(page.stream().map(reader).toList(), next, hasNext);
+    }
+
+    private String encode(Object lastValue, Object lastId) {
+        Document document = new Document("f", field)
+                .append("d", direction.name())
+                .append("v", lastValue)
+                .append("i", lastId);
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(document.toJson(JSON).getBytes(StandardCharsets.UTF_8));
+    }
+}
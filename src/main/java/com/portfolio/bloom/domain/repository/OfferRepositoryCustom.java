@@ -0,0 +1,26 @@
+package com.portfolio.bloom.domain.repository;
+
+import com.portfolio.bloom.domain.dto.CursorSlice;
+import com.portfolio.bloom.domain.model.offer.Offer;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+
+/**
+ * Offer reads that are not expressible as derived or annotated queries.
+ */
+public interface OfferRepositoryCustom {
+
+    /**
+     * Keyset-paginated read of up to {@code size} offers after {@code cursor}.
+     * No count query is run.
+     */
+    CursorSlice<Offer> scroll(Criteria criteria, KeysetCursor cursor, int size);
+
+    /**
+     * @param criteria Filter on top of {@code deleted: false}
+     * @param countMode How the page total is computed
+     */
+    Page<Offer> findPage(Criteria criteria, Pageable pageable, CountMode countMode);
+}
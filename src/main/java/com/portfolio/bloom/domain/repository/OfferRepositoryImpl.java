@@ -0,0 +1,43 @@
+package com.portfolio.bloom.domain.repository;
+
+import com.portfolio.bloom.common.BaseEntity;
+import com.portfolio.bloom.domain.dto.CursorSlice;
+import com.portfolio.bloom.domain.model.offer.Offer;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class OfferRepositoryImpl implements OfferRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+    private final PageCounter pageCounter;
+
+    @Override
+    public CursorSlice<Offer> scroll(Criteria criteria, KeysetCursor cursor, int size) {
+        Criteria filter = new Criteria().andOperator(
+                Criteria.where(BaseEntity.Fields.DELETED).is(false), criteria, cursor.criteria());
+        Query query = new Query(filter).with(cursor.sort()).limit(size + 1);
+
+        List<Document> rows = mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(Offer.class));
+        return cursor.slice(rows, size, row -> mongoTemplate.getConverter().read(Offer.class, row));
+    }
+
+    @Override
+    public Page<Offer> findPage(Criteria criteria, Pageable pageable, CountMode countMode) {
+        Criteria filter = new Criteria().andOperator(
+                Criteria.where(BaseEntity.Fields.DELETED).is(false), criteria);
+        List<Offer> content = mongoTemplate.find(new Query(filter).with(pageable), Offer.class);
+
+        boolean unfiltered = criteria.getCriteriaObject().isEmpty();
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> pageCounter.count(new Query(filter), unfiltered, Offer.class, countMode));
+    }
+}
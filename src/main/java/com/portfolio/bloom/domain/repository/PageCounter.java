@@ -0,0 +1,67 @@
+package com.portfolio.bloom.domain.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Computes page totals according to a {@link CountMode}.
+ *
+ * <p>Cached totals are keyed by collection and filter and live for a short TTL. The services
+ * call {@link #invalidate(Class)} after writes that add or remove documents, so a node sees
+ * its own writes immediately and other nodes within the TTL.
+ */
+@Component
+public class PageCounter {
+
+    private final MongoTemplate mongoTemplate;
+    private final Cache<Key, Long> counts;
+
+    public PageCounter(
+            MongoTemplate mongoTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${application.cache.counts.max-size:1000}") long maxSize,
+            @Value("${application.cache.counts.ttl:30s}") Duration ttl) {
+        this.mongoTemplate = mongoTemplate;
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, counts, "counts");
+    }
+
+    /**
+     * @param filter Filter of the paged query, without sort or paging
+     * @param unfiltered Whether the filter only excludes soft-deleted documents, which makes
+     *        {@link CountMode#ESTIMATED} applicable
+     */
+    public long count(Query filter, boolean unfiltered, Class<?> entityClass, CountMode mode) {
+        if (mode == CountMode.EXACT) {
+            return mongoTemplate.count(filter, entityClass);
+        }
+        if (mode == CountMode.ESTIMATED && unfiltered) {
+            return mongoTemplate.estimatedCount(entityClass);
+        }
+        Key key = new Key(mongoTemplate.getCollectionName(entityClass), filter.getQueryObject().toJson());
+        return counts.get(key, k -> mongoTemplate.count(filter, entityClass));
+    }
+
+    /**
+     * Drops every cached total of the entity's collection.
+     */
+    public void invalidate(Class<?> entityClass) {
+        String collection = mongoTemplate.getCollectionName(entityClass);
+        counts.asMap().keySet().removeIf(key -> key.collection().equals(collection));
+    }
+
+    private record Key(String collection, String filter) {
+    }
+}
@@ -0,0 +1,154 @@
+package com.portfolio.bloom.domain.repository;
+
+import com.portfolio.bloom.error.CommonException;
+import com.portfolio.bloom.error.ErrorEnum;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Turns client-supplied sort and paging parameters into queries the indexes can serve.
+ *
+ * <p>Each {@link Listing} maps the sort keys it accepts onto fields backed by a
+ * {@code (filter, field, _id)} index in {@code IndexRegistry}; {@code _id}, or whatever
+ * follows the field in the listing's index, is appended as tie-breaker so pages are stable.
+ * Unknown keys, malformed directions and offsets deeper than
+ * {@code application.query.max-offset} are rejected, and page sizes are clamped to
+ * {@code application.query.max-page-size}; nearby search radii are clamped the same way to
+ * {@code application.query.max-nearby-radius}. Filtered venue searches read their sort from a
+ * search index chosen by {@code VenueSearchPlanner}. Both outcomes are counted as
+ * {@code query.policy{listing, outcome, reason}}.
+ */
+@Component
+public class QueryPolicy {
+
+    private static final String ID = "_id";
+
+    /**
+     * Listing endpoints and the sort keys each accepts, mapped to index-backed fields.
+     */
+    public enum Listing {
+        VENUES("venueName", Map.of("venueName", "venueName", "name", "venueName", "created", "created",
+                "price", "effectivePrice", "effectivePrice", "effectivePrice")),
+        OWNER_VENUES("venueName", Map.of("venueName", "venueName", "name", "venueName", "created", "created")),
+        // Only the sorts VenueSearchPlanner has search indexes for
+        VENUE_SEARCH("venueName", Map.of("venueName", "venueName", "name", "venueName",
+                "price", "effectivePrice", "effectivePrice", "effectivePrice")),
+        OFFERS("startDate", Map.of("startDate", "startDate", "created", "created")),
+        NEARBY_VENUES(VenueRepositoryCustom.DISTANCE, Map.of()),
+        DEALS("discountPercentage", Map.of()),
+        // The per-venue index orders endDate between startDate and _id
+        VENUE_OFFERS("startDate", Map.of("startDate", "startDate"), "endDate", ID);
+
+        private final String defaultField;
+        private final Map<String, String> sortFields;
+        private final String[] tieBreakers;
+
+        Listing(String defaultField, Map<String, String> sortFields) {
+            this(defaultField, sortFields, ID);
+        }
+
+        Listing(String defaultField, Map<String, String> sortFields, String... tieBreakers) {
+            this.defaultField = defaultField;
+            this.sortFields = sortFields;
+            this.tieBreakers = tieBreakers;
+        }
+    }
+
+    /**
+     * A validated sort on one index-backed field.
+     */
+    public record SortKey(String field, Sort.Direction direction) {
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final int maxPageSize;
+    private final long maxOffset;
+    private final int maxNearbyRadius;
+
+    public QueryPolicy(
+            MeterRegistry meterRegistry,
+            @Value("${application.query.max-page-size:100}") int maxPageSize,
+            @Value("${application.query.max-offset:10000}") long maxOffset,
+            @Value("${application.query.max-nearby-radius:50000}") int maxNearbyRadius) {
+        this.meterRegistry = meterRegistry;
+        this.maxPageSize = maxPageSize;
+        this.maxOffset = maxOffset;
+        this.maxNearbyRadius = maxNearbyRadius;
+    }
+
+    /**
+     * @throws CommonException if the sort is not index-backed or the page is too deep
+     */
+    public Pageable pageable(Listing listing, int page, int size, String sortBy, String direction) {
+        SortKey sort = sort(listing, sortBy, direction);
+        int pageSize = pageSize(listing, size);
+        if (page < 0 || (long) page * pageSize > maxOffset) {
+            throw reject(listing, "offset");
+        }
+        return PageRequest.of(page, pageSize, Sort.by(sort.direction(), sort.field())
+                .and(Sort.by(sort.direction(), listing.tieBreakers)));
+    }
+
+    /**
+     * @param sortBy Client sort key, or null for the listing's default
+     * @throws CommonException if the key or direction is not accepted
+     */
+    public SortKey sort(Listing listing, String sortBy, String direction) {
+        String field = sortBy == null || sortBy.isBlank()
+                ? listing.defaultField
+                : listing.sortFields.get(sortBy);
+        if (field == null) {
+            throw reject(listing, "sort");
+        }
+        Sort.Direction sortDirection = Sort.Direction.fromOptionalString(direction)
+                .orElseThrow(() -> reject(listing, "direction"));
+        return new SortKey(field, sortDirection);
+    }
+
+    /**
+     * Clamps the requested size to {@code [1, max-page-size]}.
+     */
+    public int pageSize(Listing listing, int size) {
+        if (size >= 1 && size <= maxPageSize) {
+            return size;
+        }
+        counter(listing, "clamped", "size").increment();
+        return Math.max(1, Math.min(size, maxPageSize));
+    }
+
+    /**
+     * Clamps a nearby search radius in meters to {@code max-nearby-radius}.
+     *
+     * @throws CommonException if the radius is not positive
+     */
+    public int radius(int meters) {
+        if (meters <= 0) {
+            throw reject(Listing.NEARBY_VENUES, "radius");
+        }
+        if (meters <= maxNearbyRadius) {
+            return meters;
+        }
+        counter(Listing.NEARBY_VENUES, "clamped", "radius").increment();
+        return maxNearbyRadius;
+    }
+
+    private CommonException reject(Listing listing, String reason) {
+        counter(listing, "rejected", reason).increment();
+        return new CommonException(ErrorEnum.INVALID_REQUEST);
+    }
+
+    private Counter counter(Listing listing, String outcome, String reason) {
+        return Counter.builder("query.policy")
+                .tag("listing", listing.name().toLowerCase())
+                .tag("outcome", outcome)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,16 @@
+package com.portfolio.bloom.domain.repository;
+
+import com.portfolio.bloom.domain.model.Token;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+
+import java.util.Optional;
+
+/**
+ * Token repository interface for MongoDB operations.
+ */
+public interface TokenRepository extends MongoRepository<Token, String> {
+    
+    @Query("{ 'token': ?0, 'deleted': false }")
+    Optional<Token> findByTokenAndDeletedIsFalse(String token);
+}
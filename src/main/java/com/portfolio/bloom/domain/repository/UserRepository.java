@@ -4,6 +4,7 @@ import com.portfolio.bloom.domain.model.user.User;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -14,12 +15,10 @@ public interface UserRepository extends MongoRepository<User, String> {
     @Query("{ 'email': ?0, 'deleted': false }")
     Optional<User> findByEmailAndDeletedIsFalse(String email);
 
-    @Query("{ $or: [ { 'email': ?0 }, { 'phone.phoneNumber': ?0 } ], 'deleted': false }")
+    @Query("{ $or: [ { 'email': ?0, 'deleted': false }, { 'phone.phoneNumber': ?0, 'deleted': false } ] }")
     Optional<User> findByEmailOrPhoneNumberAndDeletedIsFalse(String identifier);
     
-    boolean existsByEmailAndDeletedIsFalse(String email);
-    
-    @Query(value = "{ 'tokens.token': ?0, 'deleted': false }", 
-           fields = "{ '_id': 1, 'tokens': 1 }")
-    Optional<User> findTokenFieldsByTokenValueAndDeletedIsFalse(String tokenValue);
+    @Query(value = "{ 'securityVersion': { $gt: 0 }, 'updated': { $gte: ?0 } }",
+           fields = "{ '_id': 1, 'securityVersion': 1 }")
+    List<User> findSecurityVersionsUpdatedSince(long updatedSince);
 }
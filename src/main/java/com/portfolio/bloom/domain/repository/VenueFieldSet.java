@@ -0,0 +1,58 @@
+package com.portfolio.bloom.domain.repository;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Maps the venue properties a client may request through {@code fields=} onto the document
+ * paths that are projected for them.
+ */
+public final class VenueFieldSet {
+
+    private static final List<String> OFFER_PATHS = List.of(
+            "offers._id", "offers.startDate", "offers.endDate", "offers.discountPercentage",
+            "offers.finalPrice", "offers.userId", "offers.venueId", "offers.active", "offers.version");
+
+    private static final Map<String, List<String>> PATHS = Map.ofEntries(
+            Map.entry("id", List.of("_id")),
+            Map.entry("venueName", List.of("venueName")),
+            Map.entry("userId", List.of("userId")),
+            Map.entry("address", List.of("address")),
+            Map.entry("capacity", List.of("capacity")),
+            Map.entry("description", List.of("description")),
+            Map.entry("highPrice", List.of("highPrice")),
+            Map.entry("lowPrice", List.of("lowPrice")),
+            Map.entry("effectivePrice", List.of("effectivePrice")),
+            Map.entry("venueType", List.of("venueType")),
+            Map.entry("peopleType", List.of("peopleType")),
+            Map.entry("rating", List.of("rating")),
+            Map.entry("priceType", List.of("priceType")),
+            Map.entry("baseCurrency", List.of("baseCurrency")),
+            Map.entry("baseImage", List.of("baseImage")),
+            Map.entry("offers", OFFER_PATHS),
+            Map.entry("version", List.of("version")),
+            Map.entry("created", List.of("created")),
+            Map.entry("updated", List.of("updated")));
+
+    private VenueFieldSet() {
+    }
+
+    /**
+     * @param fields Requested property names
+     * @return Document paths to project, or empty if any property is not supported
+     */
+    public static Optional<Set<String>> paths(List<String> fields) {
+        Set<String> paths = new LinkedHashSet<>();
+        for (String field : fields) {
+            List<String> mapped = PATHS.get(field);
+            if (mapped == null) {
+                return Optional.empty();
+            }
+            paths.addAll(mapped);
+        }
+        return Optional.of(paths);
+    }
+}
@@ -0,0 +1,64 @@
+package com.portfolio.bloom.domain.repository;
+
+import com.portfolio.bloom.domain.dto.CursorSlice;
+import com.portfolio.bloom.domain.model.venue.Venue;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.GeoResult;
+import org.springframework.data.geo.Point;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Venue reads localized on the server: translatable fields come back already resolved for the
+ * requested language and the {@code translations} maps are not returned.
+ */
+public interface VenueRepositoryCustom {
+
+    /**
+     * @param lang Language code already resolved through {@code LangList.resolveLanguage}
+     */
+    Optional<Venue> findLocalizedById(String id, String lang);
+
+    /**
+     * @param criteria Filter on top of {@code deleted: false}
+     * @param countMode How the page total is computed
+     * @param lang Language code already resolved through {@code LangList.resolveLanguage}
+     */
+    Page<Venue> findLocalized(Criteria criteria, Pageable pageable, CountMode countMode, String lang);
+
+    /**
+     * Same as {@link #findLocalized(Criteria, Pageable, CountMode, String)}, reading only the
+     * given document paths. Translatable paths among them are still localized.
+     */
+    Page<Venue> findLocalized(Criteria criteria, Pageable pageable, CountMode countMode, String lang,
+            Collection<String> paths);
+
+    /**
+     * Same as {@link #findLocalized(Criteria, Pageable, CountMode, String)}, hinted to the
+     * search index that {@link VenueSearchPlanner} chooses for {@code criteria} and the page sort.
+     */
+    Page<Venue> searchLocalized(Criteria criteria, Pageable pageable, CountMode countMode, String lang);
+
+    /**
+     * Keyset-paginated read of up to {@code size} localized venues after {@code cursor}.
+     * No count query is run.
+     */
+    CursorSlice<Venue> scrollLocalized(Criteria criteria, KeysetCursor cursor, int size, String lang);
+
+    /**
+     * Localized venues within {@code radius} of {@code origin}, nearest first, keyset-paginated
+     * on {@link #DISTANCE} with {@code _id} as tie-breaker.
+     *
+     * @param origin Longitude (x) and latitude (y)
+     * @param criteria Filter on top of {@code deleted: false}, on fields of the location index
+     */
+    CursorSlice<GeoResult<Venue>> scrollNearby(Point origin, Distance radius, Criteria criteria, KeysetCursor cursor,
+            int size, String lang);
+
+    /** Field holding the computed distance in meters; the sort key of nearby cursors. */
+    String DISTANCE = "distance";
+}
@@ -0,0 +1,236 @@
+package com.portfolio.bloom.domain.repository;
+
+import com.portfolio.bloom.common.BaseEntity;
+import com.portfolio.bloom.common.Constants;
+import com.portfolio.bloom.domain.dto.CursorSlice;
+import com.portfolio.bloom.domain.model.venue.Venue;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.GeoResult;
+import org.springframework.data.geo.Metrics;
+import org.springframework.data.geo.Point;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.aggregation.UnsetOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Localizes venues in the query instead of in Java.
+ *
+ * <p>For the default language the {@code translations} maps of the venue and its embedded
+ * offers are excluded from a plain find. For any other language the page is read through an
+ * aggregation that coalesces {@code venueName} and {@code description} with their translation,
+ * falling back to the default text when it is missing or blank, and then drops the maps.
+ * Offers carry no translatable text, so only their maps are dropped.
+ *
+ * <p>Searches are hinted to the index {@link VenueSearchPlanner} picks for their filter and sort.
+ *
+ * <p>Nearby search runs {@code $geoNear} on the 2dsphere location index. Pages continue from
+ * the last distance through {@code minDistance}, and the cursor's {@code (distance, _id)}
+ * range drops rows already returned at that exact distance.
+ *
+ * <p>List reads may name the document paths they need, in which case an inclusion
+ * projection replaces the exclusion and the translation maps are never read.
+ */
+@RequiredArgsConstructor
+public class VenueRepositoryImpl implements VenueRepositoryCustom {
+
+    private static final List<String> TRANSLATED_FIELDS = List.of("venueName", "description");
+    private static final String OFFER_TRANSLATIONS = "offers." + BaseEntity.Fields.TRANSLATIONS;
+
+    private final MongoTemplate mongoTemplate;
+    private final PageCounter pageCounter;
+
+    @Override
+    public Optional<Venue> findLocalizedById(String id, String lang) {
+        Criteria criteria = Criteria.where("_id").is(id).and(BaseEntity.Fields.DELETED).is(false);
+        if (Constants.DEFAULT_LANGUAGE.equals(lang)) {
+            return Optional.ofNullable(mongoTemplate.findOne(withoutTranslations(new Query(criteria)), Venue.class));
+        }
+
+        List<AggregationOperation> stages = new ArrayList<>();
+        stages.add(Aggregation.match(criteria));
+        stages.add(Aggregation.limit(1));
+        stages.addAll(localize(lang));
+        return mongoTemplate.aggregate(Aggregation.newAggregation(Venue.class, stages), Venue.class)
+                .getMappedResults().stream()
+                .findFirst();
+    }
+
+    @Override
+    public Page<Venue> findLocalized(Criteria criteria, Pageable pageable, CountMode countMode, String lang) {
+        return findLocalized(criteria, pageable, countMode, lang, List.of());
+    }
+
+    @Override
+    public Page<Venue> findLocalized(Criteria criteria, Pageable pageable, CountMode countMode, String lang,
+            Collection<String> paths) {
+        return find(criteria, pageable, countMode, lang, paths, null);
+    }
+
+    @Override
+    public Page<Venue> searchLocalized(Criteria criteria, Pageable pageable, CountMode countMode, String lang) {
+        return find(criteria, pageable, countMode, lang, List.of(),
+                VenueSearchPlanner.indexFor(criteria, pageable.getSort()).orElse(null));
+    }
+
+    private Page<Venue> find(Criteria criteria, Pageable pageable, CountMode countMode, String lang,
+            Collection<String> paths, String hint) {
+        Criteria filter = new Criteria().andOperator(
+                Criteria.where(BaseEntity.Fields.DELETED).is(false), criteria);
+
+        List<Venue> content;
+        if (Constants.DEFAULT_LANGUAGE.equals(lang)) {
+            Query query = new Query(filter).with(pageable);
+            if (hint != null) {
+                query.withHint(hint);
+            }
+            content = mongoTemplate.find(paths.isEmpty() ? withoutTranslations(query) : including(query, paths), Venue.class);
+        } else {
+            List<AggregationOperation> stages = new ArrayList<>();
+            stages.add(Aggregation.match(filter));
+            if (pageable.getSort().isSorted()) {
+                stages.add(Aggregation.sort(pageable.getSort()));
+            }
+            if (pageable.isPaged()) {
+                stages.add(Aggregation.skip(pageable.getOffset()));
+                stages.add(Aggregation.limit(pageable.getPageSize()));
+            }
+            stages.addAll(paths.isEmpty() ? localize(lang) : List.of(project(lang, paths)));
+            TypedAggregation<Venue> aggregation = Aggregation.newAggregation(Venue.class, stages);
+            if (hint != null) {
+                aggregation = aggregation.withOptions(AggregationOptions.builder().hint(hint).build());
+            }
+            content = mongoTemplate.aggregate(aggregation, Venue.class).getMappedResults();
+        }
+
+        boolean unfiltered = criteria.getCriteriaObject().isEmpty();
+        Query countQuery = new Query(filter);
+        if (hint != null) {
+            countQuery.withHint(hint);
+        }
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> pageCounter.count(countQuery, unfiltered, Venue.class, countMode));
+    }
+
+    @Override
+    public CursorSlice<Venue> scrollLocalized(Criteria criteria, KeysetCursor cursor, int size, String lang) {
+        Criteria filter = new Criteria().andOperator(
+                Criteria.where(BaseEntity.Fields.DELETED).is(false), criteria, cursor.criteria());
+        String collection = mongoTemplate.getCollectionName(Venue.class);
+
+        List<Document> rows;
+        if (Constants.DEFAULT_LANGUAGE.equals(lang)) {
+            Query query = new Query(filter).with(cursor.sort()).limit(size + 1);
+            rows = mongoTemplate.find(withoutTranslations(query), Document.class, collection);
+        } else {
+            List<AggregationOperation> stages = new ArrayList<>();
+            stages.add(Aggregation.match(filter));
+            stages.add(Aggregation.sort(cursor.sort()));
+            stages.add(Aggregation.limit(size + 1));
+            // Localizing may replace the sorted venueName; the cursor must carry the stored one
+            stages.add(cursor.keepSortKey());
+            stages.addAll(localize(lang));
+            rows = mongoTemplate.aggregate(Aggregation.newAggregation(stages), collection, Document.class)
+                    .getMappedResults();
+        }
+
+        return cursor.slice(rows, size, row -> mongoTemplate.getConverter().read(Venue.class, row));
+    }
+
+    @Override
+    public CursorSlice<GeoResult<Venue>> scrollNearby(Point origin, Distance radius, Criteria criteria,
+            KeysetCursor cursor, int size, String lang) {
+        Criteria filter = new Criteria().andOperator(
+                Criteria.where(BaseEntity.Fields.DELETED).is(false), criteria);
+        Document geoNear = new Document("near", new Document("type", "Point")
+                        .append("coordinates", List.of(origin.getX(), origin.getY())))
+                .append("key", Venue.LOCATION)
+                .append("distanceField", DISTANCE)
+                .append("spherical", true)
+                .append("maxDistance", radius.in(Metrics.KILOMETERS).getValue() * 1000)
+                .append("query", filter.getCriteriaObject());
+        if (cursor.lastValue() instanceof Number lastDistance) {
+            geoNear.append("minDistance", lastDistance.doubleValue());
+        }
+
+        List<AggregationOperation> stages = new ArrayList<>();
+        stages.add(context -> new Document("$geoNear", geoNear));
+        stages.add(Aggregation.match(cursor.criteria()));
+        stages.add(Aggregation.sort(cursor.sort()));
+        stages.add(Aggregation.limit(size + 1));
+        stages.addAll(Constants.DEFAULT_LANGUAGE.equals(lang)
+                ? List.of(UnsetOperation.unset(BaseEntity.Fields.TRANSLATIONS, OFFER_TRANSLATIONS))
+                : localize(lang));
+        String collection = mongoTemplate.getCollectionName(Venue.class);
+        List<Document> rows = mongoTemplate.aggregate(Aggregation.newAggregation(stages), collection, Document.class)
+                .getMappedResults();
+
+        return cursor.slice(rows, size, row -> new GeoResult<>(
+                mongoTemplate.getConverter().read(Venue.class, row),
+                new Distance(row.get(DISTANCE, Number.class).doubleValue() / 1000, Metrics.KILOMETERS)));
+    }
+
+    private static Query withoutTranslations(Query query) {
+        query.fields()
+                .exclude(BaseEntity.Fields.TRANSLATIONS)
+                .exclude(OFFER_TRANSLATIONS);
+        return query;
+    }
+
+    private static Query including(Query query, Collection<String> paths) {
+        paths.forEach(query.fields()::include);
+        return query;
+    }
+
+    /**
+     * Inclusion projection of {@code paths} with the translated fields among them resolved for
+     * {@code lang}.
+     */
+    private static AggregationOperation project(String lang, Collection<String> paths) {
+        Document project = new Document();
+        for (String path : paths) {
+            project.append(path, TRANSLATED_FIELDS.contains(path) ? translated(path, lang) : 1);
+        }
+        return context -> new Document("$project", project);
+    }
+
+    /**
+     * Stages that resolve the translated fields for {@code lang} and drop the translation maps.
+     * {@code lang} must be a supported language code, since it becomes part of a field path.
+     */
+    private static List<AggregationOperation> localize(String lang) {
+        Document set = new Document();
+        for (String field : TRANSLATED_FIELDS) {
+            set.append(field, translated(field, lang));
+        }
+        return List.of(
+                context -> new Document("$set", set),
+                UnsetOperation.unset(BaseEntity.Fields.TRANSLATIONS, OFFER_TRANSLATIONS));
+    }
+
+    /**
+     * The translation of {@code field} for {@code lang}, or the field itself when the
+     * translation is missing or blank.
+     */
+    private static Document translated(String field, String lang) {
+        String translation = "$" + BaseEntity.Fields.TRANSLATIONS + "." + field + "." + lang;
+        Document length = new Document("$strLenCP", new Document("$trim",
+                new Document("input", new Document("$ifNull", List.of(translation, "")))));
+        return new Document("$cond", List.of(
+                new Document("$gt", List.of(length, 0)), translation, "$" + field));
+    }
+}
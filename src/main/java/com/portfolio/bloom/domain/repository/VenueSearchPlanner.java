@@ -0,0 +1,101 @@
+package com.portfolio.bloom.domain.repository;
+
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Maps the shape of a venue search to the index that serves it.
+ *
+ * <p>Search indexes follow equality, sort, range: {@code deleted}, one equality field, the sort
+ * field with {@code _id}, then the range fields, so a page is read in order from the index and
+ * range filters are checked on index keys before any document is fetched. There is one index
+ * per equality field and accepted sort. A search is hinted to the index of the first equality
+ * field it filters on, most selective first; other filters are applied to the fetched
+ * documents. A search without an equality filter walks the plain sort index. Either way no
+ * search sorts in memory.
+ */
+public final class VenueSearchPlanner {
+
+    public static final String CITY = "address.city";
+    public static final String VENUE_TYPE = "venueType";
+    public static final String PEOPLE_TYPE = "peopleType";
+    public static final String PRICE_TYPE = "priceType";
+    public static final String CAPACITY = "capacity";
+    public static final String LOW_PRICE = "lowPrice";
+    public static final String RATING = "rating";
+
+    public static final String VENUE_NAME = "venueName";
+    public static final String EFFECTIVE_PRICE = "effectivePrice";
+
+    /** Sort fields a search accepts, with the {@code (deleted, field, _id)} index serving each. */
+    public static final Map<String, String> SORT_INDEXES = Map.of(
+            VENUE_NAME, "venue_name_scroll",
+            EFFECTIVE_PRICE, "venue_price_scroll");
+
+    private static final String ID = "_id";
+    private static final List<String> EQUALITY_FIELDS = List.of(CITY, VENUE_TYPE, PEOPLE_TYPE);
+    private static final List<String> RANGE_FIELDS = List.of(CAPACITY, LOW_PRICE, RATING);
+
+    /**
+     * A search index: equality field, sort field, then {@link #RANGE_FIELDS}.
+     */
+    public record SearchIndex(String name, String equalityField, String sortField) {
+
+        /**
+         * @return Keys after {@code deleted}, in index order
+         */
+        public List<String> keys() {
+            List<String> keys = new ArrayList<>(List.of(equalityField, sortField, ID));
+            keys.addAll(RANGE_FIELDS);
+            return keys;
+        }
+    }
+
+    private static final List<SearchIndex> INDEXES = List.of(
+            new SearchIndex("venue_search_city_name", CITY, VENUE_NAME),
+            new SearchIndex("venue_search_city_price", CITY, EFFECTIVE_PRICE),
+            new SearchIndex("venue_search_type_name", VENUE_TYPE, VENUE_NAME),
+            new SearchIndex("venue_search_type_price", VENUE_TYPE, EFFECTIVE_PRICE),
+            new SearchIndex("venue_search_people_name", PEOPLE_TYPE, VENUE_NAME),
+            new SearchIndex("venue_search_people_price", PEOPLE_TYPE, EFFECTIVE_PRICE));
+
+    private VenueSearchPlanner() {
+    }
+
+    /**
+     * Search indexes, in order of preference.
+     */
+    public static List<SearchIndex> indexes() {
+        return INDEXES;
+    }
+
+    /**
+     * @param criteria Search filter, without the {@code deleted} predicate
+     * @param sort Page sort; its first property must be one of {@link #SORT_INDEXES}
+     * @return The index to hint, or empty if the sort is not one a search accepts
+     */
+    public static Optional<String> indexFor(Criteria criteria, Sort sort) {
+        Optional<String> sortField = sort.stream().findFirst().map(Sort.Order::getProperty);
+        if (sortField.isEmpty() || !SORT_INDEXES.containsKey(sortField.get())) {
+            return Optional.empty();
+        }
+
+        Document filter = criteria.getCriteriaObject();
+        for (String field : EQUALITY_FIELDS) {
+            if (filter.containsKey(field) && !(filter.get(field) instanceof Document)) {
+                return INDEXES.stream()
+                        .filter(index -> index.equalityField().equals(field)
+                                && index.sortField().equals(sortField.get()))
+                        .map(SearchIndex::name)
+                        .findFirst();
+            }
+        }
+        return Optional.of(SORT_INDEXES.get(sortField.get()));
+    }
+}
@@ -0,0 +1,304 @@
+package com.portfolio.bloom.domain.service;
+
+import com.portfolio.bloom.common.BaseEntity;
+import com.portfolio.bloom.domain.dto.OfferDto;
+import com.portfolio.bloom.domain.model.offer.Offer;
+import com.portfolio.bloom.domain.model.venue.Venue;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory index of the offers that are live right now, ordered best deal first: highest
+ * {@code discountPercentage}, then lowest {@code finalPrice}.
+ *
+ * <p>Deals are kept in concurrent skip lists, one over all deals and one per venue type and
+ * per city, so a top-K read walks at most K entries of one list without locking. Writes are
+ * serialized; they come from offer and venue writes in the services and from
+ * {@link OfferLifecycleScheduler} transitions. Deals whose end date has passed are skipped
+ * on read until their end transition removes them.
+ *
+ * <p>The index is built at startup from the live offers, a range read on the {@code startDate}
+ * or {@code endDate} index, and rebuilt on a schedule to pick up writes made on other instances.
+ * Local writes made while a rebuild reads are replayed onto it before it replaces the index.
+ */
+@Slf4j
+@Component
+public class DealIndex implements OfferLifecycleListener {
+
+    private static final String ID = "_id";
+    private static final int VENUE_BATCH = 500;
+
+    private static final Comparator<Deal> BEST_FIRST = Comparator
+            .comparing((Deal deal) -> deal.offer().getDiscountPercentage(),
+                    Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(deal -> deal.offer().getFinalPrice(), Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(deal -> deal.offer().getId());
+
+    /**
+     * A live offer with the venue attributes it can be filtered on.
+     */
+    record Deal(OfferDto offer, String venueType, String city) {
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private volatile Deals deals = new Deals();
+    /** Writes applied since the running rebuild started reading, or null when none is running. */
+    private List<Consumer<Deals>> replay;
+
+    public DealIndex(MongoTemplate mongoTemplate, MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        Gauge.builder("offers.deals.size", this, index -> index.deals.byOffer.size())
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param venueType Venue type to filter on, or null for any
+     * @param city City to filter on, case-insensitive, or null for any
+     * @return Up to {@code limit} live offers, best deal first
+     */
+    public List<OfferDto> top(int limit, String venueType, String city) {
+        Deals current = deals;
+        NavigableSet<Deal> candidates = current.candidates(venueType, city);
+        String cityKey = cityKey(city);
+        Instant now = Instant.now();
+
+        List<OfferDto> top = new ArrayList<>(limit);
+        for (Deal deal : candidates) {
+            if (top.size() == limit) {
+                break;
+            }
+            if (isLive(deal.offer(), now)
+                    && (venueType == null || venueType.equals(deal.venueType()))
+                    && (cityKey == null || cityKey.equals(cityKey(deal.city())))) {
+                top.add(deal.offer());
+            }
+        }
+        return top;
+    }
+
+    /**
+     * Adds, moves or removes the offer according to its current state.
+     */
+    public void update(Offer offer) {
+        if (!isLive(offer, Instant.now())) {
+            remove(offer.getId());
+            return;
+        }
+        Venue venue = findVenues(Set.of(offer.getVenueId())).get(offer.getVenueId());
+        OfferDto deal = OfferDto.fromEntity(offer);
+        write(current -> current.put(deal, venue));
+    }
+
+    public void remove(String offerId) {
+        write(current -> current.remove(offerId));
+    }
+
+    /**
+     * Refreshes the venue type and city of the venue's deals.
+     */
+    public void venueChanged(Venue venue) {
+        write(current -> current.venueChanged(venue));
+    }
+
+    public void venueDeleted(String venueId) {
+        write(current -> {
+            Set<String> offerIds = current.offersByVenue.get(venueId);
+            if (offerIds != null) {
+                new HashSet<>(offerIds).forEach(current::remove);
+            }
+        });
+    }
+
+    @Override
+    public void offersTransitioned(Collection<Object> offerIds) {
+        Query query = new Query(Criteria.where(ID).in(offerIds));
+        Map<String, Offer> offers = mongoTemplate.find(query, Offer.class).stream()
+                .collect(Collectors.toMap(Offer::getId, offer -> offer));
+        Map<String, Venue> venues = findVenues(offers.values().stream()
+                .map(Offer::getVenueId)
+                .collect(Collectors.toSet()));
+
+        Instant now = Instant.now();
+        for (Object id : offerIds) {
+            Offer offer = offers.get(String.valueOf(id));
+            if (offer != null && isLive(offer, now)) {
+                OfferDto deal = OfferDto.fromEntity(offer);
+                Venue venue = venues.get(offer.getVenueId());
+                write(current -> current.put(deal, venue));
+            } else {
+                remove(String.valueOf(id));
+            }
+        }
+    }
+
+    @PostConstruct
+    @Scheduled(
+            initialDelayString = "${application.offers.deals.rebuild-interval:300000}",
+            fixedDelayString = "${application.offers.deals.rebuild-interval:300000}")
+    void rebuild() {
+        synchronized (this) {
+            replay = new ArrayList<>();
+        }
+        try {
+            Deals rebuilt = load();
+            synchronized (this) {
+                // Writes made while loading may be missing from what was read
+                replay.forEach(write -> write.accept(rebuilt));
+                deals = rebuilt;
+            }
+            log.debug("Rebuilt deal index with {} offers", rebuilt.byOffer.size());
+        } finally {
+            synchronized (this) {
+                replay = null;
+            }
+        }
+    }
+
+    /**
+     * Applies a write to the index, and records it for replay onto a rebuild in progress.
+     */
+    private synchronized void write(Consumer<Deals> write) {
+        write.accept(deals);
+        if (replay != null) {
+            replay.add(write);
+        }
+    }
+
+    private Deals load() {
+        Date now = new Date();
+        Query query = new Query(Criteria.where(BaseEntity.Fields.DELETED).is(false)
+                .and("endDate").gt(now)
+                .and("startDate").lte(now)
+                .and("active").is(true));
+        List<Offer> offers = mongoTemplate.find(query, Offer.class);
+
+        Set<String> venueIds = offers.stream().map(Offer::getVenueId).collect(Collectors.toSet());
+        Map<String, Venue> venues = findVenues(venueIds);
+
+        Deals rebuilt = new Deals();
+        offers.forEach(offer -> rebuilt.put(OfferDto.fromEntity(offer), venues.get(offer.getVenueId())));
+        return rebuilt;
+    }
+
+    private Map<String, Venue> findVenues(Set<String> venueIds) {
+        List<String> ids = new ArrayList<>(venueIds);
+        Map<String, Venue> venues = new ConcurrentHashMap<>();
+        for (int from = 0; from < ids.size(); from += VENUE_BATCH) {
+            Query query = new Query(Criteria.where(ID).in(ids.subList(from, Math.min(from + VENUE_BATCH, ids.size())))
+                    .and(BaseEntity.Fields.DELETED).is(false));
+            query.fields().include("venueType", "address.city");
+            mongoTemplate.find(query, Venue.class).forEach(venue -> venues.put(venue.getId(), venue));
+        }
+        return venues;
+    }
+
+    private static boolean isLive(Offer offer, Instant now) {
+        return !offer.isDeleted() && offer.isActive()
+                && offer.getStartDate() != null && !offer.getStartDate().isAfter(now)
+                && offer.getEndDate() != null && offer.getEndDate().isAfter(now);
+    }
+
+    private static boolean isLive(OfferDto offer, Instant now) {
+        return !offer.getStartDate().isAfter(now) && offer.getEndDate().isAfter(now);
+    }
+
+    private static String cityKey(String city) {
+        return city != null ? city.trim().toLowerCase(Locale.ROOT) : null;
+    }
+
+    /**
+     * The deal lists; reads are lock-free, writes hold the {@link DealIndex} monitor.
+     */
+    private static final class Deals {
+
+        private final NavigableSet<Deal> all = new ConcurrentSkipListSet<>(BEST_FIRST);
+        private final Map<String, NavigableSet<Deal>> byVenueType = new ConcurrentHashMap<>();
+        private final Map<String, NavigableSet<Deal>> byCity = new ConcurrentHashMap<>();
+        private final Map<String, Deal> byOffer = new ConcurrentHashMap<>();
+        private final Map<String, Set<String>> offersByVenue = new ConcurrentHashMap<>();
+
+        NavigableSet<Deal> candidates(String venueType, String city) {
+            if (venueType != null) {
+                return byVenueType.getOrDefault(venueType, new ConcurrentSkipListSet<>(BEST_FIRST));
+            }
+            if (city != null) {
+                return byCity.getOrDefault(cityKey(city), new ConcurrentSkipListSet<>(BEST_FIRST));
+            }
+            return all;
+        }
+
+        void put(OfferDto offer, Venue venue) {
+            remove(offer.getId());
+            if (venue == null) {
+                return;
+            }
+            String venueType = venue.getVenueType() != null ? venue.getVenueType().name() : null;
+            String city = venue.getAddress() != null ? venue.getAddress().getCity() : null;
+            Deal deal = new Deal(offer, venueType, city);
+
+            all.add(deal);
+            if (venueType != null) {
+                byVenueType.computeIfAbsent(venueType, key -> new ConcurrentSkipListSet<>(BEST_FIRST)).add(deal);
+            }
+            if (city != null) {
+                byCity.computeIfAbsent(cityKey(city), key -> new ConcurrentSkipListSet<>(BEST_FIRST)).add(deal);
+            }
+            byOffer.put(offer.getId(), deal);
+            offersByVenue.computeIfAbsent(offer.getVenueId(), key -> ConcurrentHashMap.newKeySet()).add(offer.getId());
+        }
+
+        void remove(String offerId) {
+            Deal deal = byOffer.remove(offerId);
+            if (deal == null) {
+                return;
+            }
+            all.remove(deal);
+            if (deal.venueType() != null) {
+                byVenueType.get(deal.venueType()).remove(deal);
+            }
+            if (deal.city() != null) {
+                byCity.get(cityKey(deal.city())).remove(deal);
+            }
+            Set<String> venueOffers = offersByVenue.get(deal.offer().getVenueId());
+            if (venueOffers != null) {
+                venueOffers.remove(offerId);
+            }
+        }
+
+        void venueChanged(Venue venue) {
+            Set<String> offerIds = offersByVenue.get(venue.getId());
+            if (offerIds == null) {
+                return;
+            }
+            for (String offerId : new HashSet<>(offerIds)) {
+                Deal deal = byOffer.get(offerId);
+                if (deal != null) {
+                    put(deal.offer(), venue);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.portfolio.bloom.domain.service;
+
+import java.util.Collection;
+
+/**
+ * Notified by {@link OfferLifecycleScheduler} after it applied the start and end transitions
+ * that were due. Listeners re-read the offers, since a transition may have been a no-op.
+ */
+public interface OfferLifecycleListener {
+
+    /**
+     * @param offerIds Ids of the offers whose start or end date just passed
+     */
+    void offersTransitioned(Collection<Object> offerIds);
+}
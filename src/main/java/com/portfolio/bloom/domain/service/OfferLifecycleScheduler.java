@@ -0,0 +1,347 @@
+package com.portfolio.bloom.domain.service;
+
+import com.portfolio.bloom.common.BaseEntity;
+import com.portfolio.bloom.domain.common.PatchUpdate;
+import com.portfolio.bloom.domain.model.offer.Offer;
+import com.portfolio.bloom.domain.repository.PageCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Flips {@code Offer.active} when an offer's start or end date passes.
+ *
+ * <p>Upcoming transitions are held in a priority queue ordered by due time. The queue is
+ * filled a {@code horizon} ahead from range reads on the {@code (deleted, startDate, _id)} and
+ * {@code (deleted, endDate, _id)} indexes, at most {@code batch-size} rows per date field and
+ * tick, so the collection is never scanned. The reads run outside the scheduler's lock;
+ * offers scheduled meanwhile are queued once the rows are merged. Each tick applies the due
+ * transitions as one {@code updateMulti} per kind and batch. The update re-checks the dates,
+ * so a transition left behind by an edited offer, or applied twice by another instance,
+ * changes nothing.
+ *
+ * <p>The time up to which every transition has been applied is saved to the {@code jobs}
+ * collection. After a restart the queue is rebuilt from there. Without a saved time, offers
+ * whose start or end has already passed are corrected in one pass and the queue starts now. {@link OfferLifecycleListener}s
+ * are told which offers had transitions due. Owners can still set
+ * {@code active} by hand; the next boundary of the offer overrides that.
+ */
+@Slf4j
+@Component
+public class OfferLifecycleScheduler {
+
+    private static final String JOBS = "jobs";
+    private static final String JOB_ID = "offer-lifecycle";
+    private static final String ACTIVE = "active";
+    private static final String ID = "_id";
+
+    /**
+     * A transition and the date field that triggers it.
+     */
+    enum Kind {
+        START("startDate", true),
+        END("endDate", false);
+
+        private final String field;
+        private final boolean active;
+
+        Kind(String field, boolean active) {
+            this.field = field;
+            this.active = active;
+        }
+    }
+
+    private record Transition(Instant at, Kind kind, Object offerId) {
+    }
+
+    /**
+     * Position of the last loaded row of one date field; a null id means everything up to
+     * {@code date} is loaded.
+     */
+    private record Position(Instant date, Object id) {
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final PageCounter pageCounter;
+    private final List<OfferLifecycleListener> listeners;
+    private final Duration horizon;
+    private final int batchSize;
+    private final Duration checkpointInterval;
+    private final PriorityQueue<Transition> queue = new PriorityQueue<>(Comparator.comparing(Transition::at));
+    private final Map<Kind, Position> loaded = new EnumMap<>(Kind.class);
+    /** Transitions scheduled while a fill is reading, replayed once it has been merged. */
+    private final List<Transition> deferred = new ArrayList<>();
+    private boolean filling;
+    private Instant checkpoint;
+
+    public OfferLifecycleScheduler(
+            MongoTemplate mongoTemplate,
+            PageCounter pageCounter,
+            List<OfferLifecycleListener> listeners,
+            MeterRegistry meterRegistry,
+            @Value("${application.offers.lifecycle.horizon:10m}") Duration horizon,
+            @Value("${application.offers.lifecycle.batch-size:500}") int batchSize,
+            @Value("${application.offers.lifecycle.checkpoint-interval:1m}") Duration checkpointInterval) {
+        this.mongoTemplate = mongoTemplate;
+        this.pageCounter = pageCounter;
+        this.listeners = listeners;
+        this.horizon = horizon;
+        this.batchSize = batchSize;
+        this.checkpointInterval = checkpointInterval;
+        Gauge.builder("offers.lifecycle.pending", this, OfferLifecycleScheduler::pending)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    synchronized void load() {
+        Document job = mongoTemplate.findById(JOB_ID, Document.class, JOBS);
+        Date saved = job != null ? job.getDate("checkpoint") : null;
+        if (saved != null) {
+            // Transitions at the checkpoint itself are re-applied, which is harmless
+            checkpoint = saved.toInstant().minusMillis(1);
+        } else {
+            checkpoint = catchUp(Instant.now());
+        }
+        rewind();
+        log.info("Offer lifecycle resumes from {}", checkpoint);
+    }
+
+    /**
+     * Queues the transitions of a created or edited offer that fall inside the range already
+     * loaded; later ones are picked up by the regular load.
+     */
+    public synchronized void schedule(Offer offer) {
+        if (offer.getId() == null) {
+            return;
+        }
+        enqueue(Kind.START, offer.getStartDate(), offer.getId());
+        enqueue(Kind.END, offer.getEndDate(), offer.getId());
+    }
+
+    @Scheduled(fixedDelayString = "${application.offers.lifecycle.tick:1000}")
+    void tick() {
+        Instant now = Instant.now();
+        Instant until = now.plus(horizon);
+        Map<Kind, Position> positions;
+        synchronized (this) {
+            positions = new EnumMap<>(loaded);
+            filling = true;
+        }
+        // The reads run without the monitor so schedule() never waits on Mongo
+        Map<Kind, List<Document>> rows = new EnumMap<>(Kind.class);
+        try {
+            for (Kind kind : Kind.values()) {
+                if (needsFill(positions.get(kind), now)) {
+                    rows.put(kind, read(kind, positions.get(kind), until));
+                }
+            }
+        } finally {
+            synchronized (this) {
+                rows.forEach((kind, found) -> merge(kind, positions.get(kind), found, until));
+                filling = false;
+                List<Transition> replay = new ArrayList<>(deferred);
+                deferred.clear();
+                replay.forEach(transition -> enqueue(transition.kind(), transition.at(), transition.offerId()));
+            }
+        }
+
+        List<Transition> due = new ArrayList<>();
+        Instant safe;
+        synchronized (this) {
+            while (!queue.isEmpty() && !queue.peek().at().isAfter(now)) {
+                due.add(queue.poll());
+            }
+            safe = loaded.values().stream()
+                    .map(Position::date)
+                    .reduce(now, (a, b) -> a.isBefore(b) ? a : b);
+        }
+
+        long changed = 0;
+        try {
+            for (Kind kind : Kind.values()) {
+                List<Object> ids = due.stream()
+                        .filter(transition -> transition.kind() == kind)
+                        .map(Transition::offerId)
+                        .toList();
+                for (int from = 0; from < ids.size(); from += batchSize) {
+                    changed += apply(kind, ids.subList(from, Math.min(from + batchSize, ids.size())), now);
+                }
+            }
+        } catch (RuntimeException ex) {
+            // The polled transitions are lost with the batch; reload everything after the checkpoint
+            synchronized (this) {
+                rewind();
+            }
+            throw ex;
+        }
+        if (changed > 0) {
+            pageCounter.invalidate(Offer.class);
+            log.debug("Applied {} offer lifecycle transitions", changed);
+        }
+        if (!due.isEmpty()) {
+            List<Object> offerIds = due.stream().map(Transition::offerId).distinct().toList();
+            listeners.forEach(listener -> listener.offersTransitioned(offerIds));
+        }
+
+        saveCheckpoint(safe);
+    }
+
+    /**
+     * @return Whether less than half the horizon of {@code kind} is loaded
+     */
+    private boolean needsFill(Position position, Instant now) {
+        return position.id() != null || !position.date().isAfter(now.plus(horizon.dividedBy(2)));
+    }
+
+    /**
+     * Reads the next transitions of {@code kind} after {@code position}, up to {@code until}.
+     */
+    private List<Document> read(Kind kind, Position position, Instant until) {
+        Date from = Date.from(position.date());
+        Criteria after = position.id() == null
+                ? Criteria.where(kind.field).gt(from)
+                : new Criteria().orOperator(
+                        Criteria.where(kind.field).gt(from),
+                        Criteria.where(kind.field).is(from).and(ID).gt(position.id()));
+        Query query = new Query(new Criteria().andOperator(
+                Criteria.where(BaseEntity.Fields.DELETED).is(false),
+                Criteria.where(kind.field).lte(Date.from(until)),
+                after))
+                .with(Sort.by(kind.field, ID))
+                .limit(batchSize);
+        query.fields().include(kind.field);
+
+        return mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(Offer.class));
+    }
+
+    /**
+     * Queues the rows read from {@code position}, unless the queue was rewound meanwhile.
+     */
+    private void merge(Kind kind, Position position, List<Document> rows, Instant until) {
+        if (!position.equals(loaded.get(kind))) {
+            return;
+        }
+        for (Document row : rows) {
+            queue.add(new Transition(row.getDate(kind.field).toInstant(), kind, row.get(ID)));
+        }
+
+        if (rows.size() < batchSize) {
+            loaded.put(kind, new Position(until, null));
+        } else {
+            Document last = rows.get(rows.size() - 1);
+            loaded.put(kind, new Position(last.getDate(kind.field).toInstant(), last.get(ID)));
+        }
+    }
+
+    private void enqueue(Kind kind, Instant at, Object id) {
+        Position position = loaded.get(kind);
+        if (at == null || position == null) {
+            return;
+        }
+        if (!at.isAfter(position.date())) {
+            queue.add(new Transition(at, kind, id));
+        } else if (filling) {
+            // The running read may have missed the write; a duplicate is harmless
+            deferred.add(new Transition(at, kind, id));
+        }
+    }
+
+    private long apply(Kind kind, List<Object> ids, Instant now) {
+        Date at = Date.from(now);
+        Criteria criteria = Criteria.where(ID).in(ids)
+                .and(BaseEntity.Fields.DELETED).is(false)
+                .and(ACTIVE).is(!kind.active);
+        if (kind == Kind.START) {
+            criteria.and(Kind.START.field).lte(at).and(Kind.END.field).gt(at);
+        } else {
+            criteria.and(Kind.END.field).lte(at);
+        }
+        Update update = new Update()
+                .set(ACTIVE, kind.active)
+                .set("updated", now.toEpochMilli())
+                .inc(PatchUpdate.VERSION, 1);
+        return mongoTemplate.updateMulti(new Query(criteria), update, Offer.class).getModifiedCount();
+    }
+
+    /**
+     * Brings every offer to its state at {@code now} without walking past transitions one by
+     * one, then saves {@code now} as the first checkpoint.
+     */
+    private Instant catchUp(Instant now) {
+        Date at = Date.from(now);
+        long changed = 0;
+        for (Kind kind : Kind.values()) {
+            Criteria pastDue = Criteria.where(BaseEntity.Fields.DELETED).is(false)
+                    .and(ACTIVE).is(!kind.active);
+            if (kind == Kind.START) {
+                pastDue.and(Kind.START.field).lte(at).and(Kind.END.field).gt(at);
+            } else {
+                pastDue.and(Kind.END.field).lte(at);
+            }
+            Query query = new Query(pastDue);
+            query.fields().include(ID);
+            List<Object> ids = mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(Offer.class))
+                    .stream()
+                    .map(row -> row.get(ID))
+                    .toList();
+            for (int from = 0; from < ids.size(); from += batchSize) {
+                List<Object> batch = ids.subList(from, Math.min(from + batchSize, ids.size()));
+                changed += apply(kind, batch, now);
+                listeners.forEach(listener -> listener.offersTransitioned(batch));
+            }
+        }
+        if (changed > 0) {
+            pageCounter.invalidate(Offer.class);
+        }
+        mongoTemplate.upsert(
+                new Query(Criteria.where(ID).is(JOB_ID)),
+                new Update().set("checkpoint", at),
+                JOBS);
+        log.info("Offer lifecycle caught up {} past-due offers", changed);
+        return now;
+    }
+
+    private void rewind() {
+        queue.clear();
+        for (Kind kind : Kind.values()) {
+            loaded.put(kind, new Position(checkpoint, null));
+        }
+    }
+
+    private void saveCheckpoint(Instant safe) {
+        if (Duration.between(checkpoint, safe).compareTo(checkpointInterval) < 0) {
+            return;
+        }
+        mongoTemplate.upsert(
+                new Query(Criteria.where(ID).is(JOB_ID)),
+                new Update().set("checkpoint", Date.from(safe)),
+                JOBS);
+        synchronized (this) {
+            checkpoint = safe;
+        }
+    }
+
+    private synchronized int pending() {
+        return queue.size();
+    }
+}
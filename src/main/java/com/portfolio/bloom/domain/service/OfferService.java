@@ -1,9 +1,13 @@
 package com.portfolio.bloom.domain.service;
 
+import com.portfolio.bloom.domain.dto.CursorSlice;
 import com.portfolio.bloom.domain.dto.OfferDto;
+import com.portfolio.bloom.domain.repository.CountMode;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,9 +18,39 @@ public interface OfferService {
     
     Optional<OfferDto> getOfferById(String id);
     
-    Page<OfferDto> getAllOffers(Pageable pageable);
+    Page<OfferDto> getAllOffers(Pageable pageable, CountMode countMode);
     
-    List<OfferDto> getOffersByVenueId(String venueId);
+    /**
+     * Offers of a venue, optionally only those whose time window contains {@code at}.
+     *
+     * @param activeOnly Only offers valid at {@code at}; without {@code at}, only active offers
+     *                   valid now
+     * @param at Instant the offers must be valid at, or null for now when {@code activeOnly}
+     *           is set and for any time otherwise. {@code active} only describes the present,
+     *           so it is not checked for an explicit instant
+     */
+    Page<OfferDto> getOffersByVenueId(String venueId, boolean activeOnly, Instant at, Pageable pageable,
+            CountMode countMode);
+    
+    /**
+     * Offers live right now, highest discount first and then lowest final price, served from
+     * the in-memory {@code DealIndex}.
+     *
+     * @param venueType Venue type to filter on, or null for any
+     * @param city City to filter on, case-insensitive, or null for any
+     * @throws com.portfolio.bloom.error.CommonException if the venue type is unknown
+     */
+    List<OfferDto> getTopDeals(int limit, String venueType, String city);
+    
+    /**
+     * Keyset-paginated listing. Page depth does not affect latency and no count is run.
+     *
+     * @param cursor {@code nextCursor} of the previous slice, or null for the first
+     * @param sortBy Index-backed field resolved through {@code QueryPolicy}
+     * @throws com.portfolio.bloom.error.CommonException if the cursor is malformed or was
+     *         issued for another sort
+     */
+    CursorSlice<OfferDto> scrollOffers(String sortBy, Sort.Direction direction, int size, String cursor);
     
     Optional<OfferDto> createOffer(OfferDto dto, String userId);
     
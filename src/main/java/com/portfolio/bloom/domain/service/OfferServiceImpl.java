@@ -1,27 +1,54 @@
 package com.portfolio.bloom.domain.service;
 
+import com.portfolio.bloom.domain.common.PatchUpdate;
+import com.portfolio.bloom.domain.dto.CursorSlice;
 import com.portfolio.bloom.domain.dto.OfferDto;
 import com.portfolio.bloom.domain.model.offer.Offer;
+import com.portfolio.bloom.domain.model.venue.VenueType;
+import com.portfolio.bloom.domain.repository.CountMode;
+import com.portfolio.bloom.domain.repository.KeysetCursor;
 import com.portfolio.bloom.domain.repository.OfferRepository;
+import com.portfolio.bloom.domain.repository.PageCounter;
+import com.portfolio.bloom.error.CommonException;
+import com.portfolio.bloom.error.ErrorEnum;
+import com.portfolio.bloom.security.auth.OwnershipPredicate;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 /**
  * Offer service implementation.
+ * Updates and deletes are single conditional writes whose filter carries the ownership check.
  */
 @Service
 @RequiredArgsConstructor
 public class OfferServiceImpl implements OfferService {
 
+    private static final String OFFER = "offer";
+
     private final OfferRepository offerRepository;
+    private final MongoTemplate mongoTemplate;
+    private final OwnershipPredicate ownershipPredicate;
+    private final VenueCache venueCache;
+    private final PageCounter pageCounter;
+    private final OfferLifecycleScheduler offerLifecycleScheduler;
+    private final DealIndex dealIndex;
+    private final VenueOfferSummary venueOfferSummary;
+    private final VenueEffectivePrice venueEffectivePrice;
 
     @Override
     public Optional<OfferDto> getOfferById(String id) {
@@ -30,16 +57,51 @@ public class OfferServiceImpl implements OfferService {
     }
 
     @Override
-    public Page<OfferDto> getAllOffers(Pageable pageable) {
-        return offerRepository.findAllByDeletedIsFalse(pageable)
+    public Page<OfferDto> getAllOffers(Pageable pageable, CountMode countMode) {
+        return offerRepository.findPage(new Criteria(), pageable, countMode)
                 .map(OfferDto::fromEntity);
     }
 
     @Override
-    public List<OfferDto> getOffersByVenueId(String venueId) {
-        return offerRepository.findByVenueIdAndDeletedIsFalse(venueId).stream()
-                .map(OfferDto::fromEntity)
-                .collect(Collectors.toList());
+    public Page<OfferDto> getOffersByVenueId(String venueId, boolean activeOnly, Instant at, Pageable pageable,
+            CountMode countMode) {
+        // active tracks the present, so an explicit instant is matched on the window alone
+        boolean activeNow = activeOnly && at == null;
+        // Both values are listed so the index still yields startDate order without an in-memory sort
+        Criteria criteria = Criteria.where("venueId").is(venueId)
+                .and("active").in(activeNow ? List.of(true) : List.of(true, false));
+        if (activeNow) {
+            // Minute precision keeps the filter, and so the cached count, stable between requests
+            at = Instant.now().truncatedTo(ChronoUnit.MINUTES);
+        }
+        if (at != null) {
+            criteria.and("startDate").lte(at).and("endDate").gt(at);
+        }
+
+        return offerRepository.findPage(criteria, pageable, countMode)
+                .map(OfferDto::fromEntity);
+    }
+
+    @Override
+    public List<OfferDto> getTopDeals(int limit, String venueType, String city) {
+        String type = null;
+        if (venueType != null) {
+            try {
+                type = VenueType.valueOf(venueType.toUpperCase()).name();
+            } catch (IllegalArgumentException ex) {
+                throw new CommonException(ErrorEnum.INVALID_REQUEST);
+            }
+        }
+        return dealIndex.top(limit, type, city);
+    }
+
+    @Override
+    public CursorSlice<OfferDto> scrollOffers(String sortBy, Sort.Direction direction, int size, String cursor) {
+        KeysetCursor position = KeysetCursor.decode(cursor, sortBy, direction)
+                .orElseThrow(() -> new CommonException(ErrorEnum.INVALID_REQUEST));
+
+        return offerRepository.scroll(new Criteria(), position, size)
+                .map(OfferDto::fromEntity);
     }
 
     @Override
@@ -49,7 +111,17 @@ public class OfferServiceImpl implements OfferService {
         offer.setUserId(userId);
         offer.setDeleted(false);
         offer.setCreated(new Date().getTime());
+        if (offer.getStartDate() != null && offer.getStartDate().isAfter(Instant.now())) {
+            // Activated by the lifecycle scheduler once the start date passes
+            offer.setActive(false);
+        }
         offer = offerRepository.save(offer);
+        venueCache.invalidate(offer.getVenueId());
+        pageCounter.invalidate(Offer.class);
+        offerLifecycleScheduler.schedule(offer);
+        dealIndex.update(offer);
+        venueOfferSummary.update(offer);
+        venueEffectivePrice.offerCreated(offer);
         
         return Optional.of(OfferDto.fromEntity(offer));
     }
@@ -57,35 +129,47 @@ public class OfferServiceImpl implements OfferService {
     @Override
     @Transactional
     public Optional<OfferDto> updateOffer(String id, OfferDto dto) {
-        Optional<Offer> offerOpt = offerRepository.findByIdAndDeletedIsFalse(id);
-        
-        if (offerOpt.isEmpty()) {
-            return Optional.empty();
+        PatchUpdate patch = PatchUpdate.create()
+                .set("startDate", dto.getStartDate())
+                .set("endDate", dto.getEndDate())
+                .set("discountPercentage", dto.getDiscountPercentage())
+                .set("finalPrice", dto.getFinalPrice())
+                .set("venueId", dto.getVenueId())
+                .set("active", dto.getActive());
+
+        Query owned = ownershipPredicate.ownedBy(id, dto.getVersion());
+        String previousVenueId = null;
+        if (dto.getVenueId() != null) {
+            previousVenueId = currentVenueId(id);
+            if (previousVenueId != null) {
+                // A concurrent move makes this miss, so the venue left behind is always the one read
+                owned.addCriteria(Criteria.where("venueId").is(previousVenueId));
+            }
         }
 
-        Offer offer = offerOpt.get();
+        Offer offer = mongoTemplate.findAndModify(
+                owned,
+                patch.toUpdate(),
+                FindAndModifyOptions.options().returnNew(true),
+                Offer.class);
         
-        if (dto.getStartDate() != null) {
-            offer.setStartDate(dto.getStartDate());
-        }
-        if (dto.getEndDate() != null) {
-            offer.setEndDate(dto.getEndDate());
-        }
-        if (dto.getDiscountPercentage() != null) {
-            offer.setDiscountPercentage(dto.getDiscountPercentage());
-        }
-        if (dto.getFinalPrice() != null) {
-            offer.setFinalPrice(dto.getFinalPrice());
+        if (offer == null) {
+            ownershipPredicate.explainMiss(id, OFFER);
+            return Optional.empty();
         }
-        if (dto.getVenueId() != null) {
-            offer.setVenueId(dto.getVenueId());
+        boolean moved = previousVenueId != null && !previousVenueId.equals(offer.getVenueId());
+        venueCache.invalidate(offer.getVenueId());
+        if (moved) {
+            venueCache.invalidate(previousVenueId);
         }
-        if (dto.getActive() != null) {
-            offer.setActive(dto.getActive());
+        pageCounter.invalidate(Offer.class);
+        offerLifecycleScheduler.schedule(offer);
+        dealIndex.update(offer);
+        venueOfferSummary.update(offer);
+        venueEffectivePrice.recompute(offer.getVenueId());
+        if (moved) {
+            venueEffectivePrice.recompute(previousVenueId);
         }
-
-        offer.setUpdated(new Date().getTime());
-        offer = offerRepository.save(offer);
         
         return Optional.of(OfferDto.fromEntity(offer));
     }
@@ -93,17 +177,33 @@ public class OfferServiceImpl implements OfferService {
     @Override
     @Transactional
     public boolean deleteOffer(String id) {
-        Optional<Offer> offerOpt = offerRepository.findByIdAndDeletedIsFalse(id);
+        Update update = new Update()
+                .set("deleted", true)
+                .set("updated", new Date().getTime());
+        Query query = ownershipPredicate.ownedBy(id);
+        query.fields().include("venueId");
+        Offer offer = mongoTemplate.findAndModify(query, update, Offer.class);
         
-        if (offerOpt.isEmpty()) {
+        if (offer == null) {
+            ownershipPredicate.explainMiss(id, OFFER);
             return false;
         }
-
-        Offer offer = offerOpt.get();
-        offer.setDeleted(true);
-        offer.setUpdated(new Date().getTime());
-        offerRepository.save(offer);
+        venueCache.invalidate(offer.getVenueId());
+        pageCounter.invalidate(Offer.class);
+        dealIndex.remove(id);
+        venueOfferSummary.remove(id);
+        venueEffectivePrice.recompute(offer.getVenueId());
         
         return true;
     }
+
+    /**
+     * @return Venue the offer currently belongs to, or null if there is no such offer
+     */
+    private String currentVenueId(String id) {
+        Query query = new Query(Criteria.where("_id").is(id).and("deleted").is(false));
+        query.fields().include("venueId");
+        Offer offer = mongoTemplate.findOne(query, Offer.class);
+        return offer != null ? offer.getVenueId() : null;
+    }
 }
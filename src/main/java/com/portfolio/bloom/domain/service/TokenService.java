@@ -0,0 +1,27 @@
+package com.portfolio.bloom.domain.service;
+
+import com.portfolio.bloom.domain.model.Token;
+import com.portfolio.bloom.domain.model.user.User;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Token service interface.
+ */
+public interface TokenService {
+    
+    Token saveUserToken(User user, String jwtToken);
+    
+    Optional<Token> findByToken(String tokenValue);
+    
+    Optional<Token> revokeToken(String tokenValue);
+    
+    List<Token> revokeAllUserTokens(String userId);
+    
+    List<Token> findRevokedSince(long updatedSince);
+    
+    Optional<Token> consumeRefreshToken(String jti);
+    
+    List<Token> revokeFamily(String familyId);
+}
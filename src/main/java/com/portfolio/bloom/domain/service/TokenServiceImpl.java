@@ -0,0 +1,136 @@
+package com.portfolio.bloom.domain.service;
+
+import com.portfolio.bloom.config.JwtClaims;
+import com.portfolio.bloom.config.JwtService;
+import com.portfolio.bloom.domain.dto.TokenType;
+import com.portfolio.bloom.domain.model.Token;
+import com.portfolio.bloom.domain.model.user.User;
+import com.portfolio.bloom.domain.repository.TokenRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Token service implementation backed by the {@code tokens} collection.
+ */
+@Service
+@RequiredArgsConstructor
+public class TokenServiceImpl implements TokenService {
+
+    private final TokenRepository tokenRepository;
+    private final JwtService jwtService;
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Token saveUserToken(User user, String jwtToken) {
+        JwtClaims claims = jwtService.verify(jwtToken)
+                .orElseThrow(() -> new IllegalArgumentException("Cannot store an invalid or expired token"));
+
+        Token token = Token.builder()
+                .token(jwtToken)
+                .jti(claims.getId())
+                .tokenType(claims.isRefreshToken() ? TokenType.REFRESH : TokenType.BEARER)
+                .familyId(claims.getFamilyId())
+                .expired(false)
+                .revoked(false)
+                .userId(user.getId())
+                .expiresAt(claims.getExpiration().toInstant())
+                .created(new Date().getTime())
+                .build();
+
+        return tokenRepository.insert(token);
+    }
+
+    @Override
+    public Optional<Token> findByToken(String tokenValue) {
+        return tokenRepository.findByTokenAndDeletedIsFalse(tokenValue);
+    }
+
+    @Override
+    public Optional<Token> revokeToken(String tokenValue) {
+        Query query = new Query(Criteria.where("token").is(tokenValue)
+                .and("revoked").is(false)
+                .and("deleted").is(false));
+        Update update = new Update()
+                .set("revoked", true)
+                .set("updated", new Date().getTime());
+
+        return Optional.ofNullable(mongoTemplate.findAndModify(
+                query, update, FindAndModifyOptions.options().returnNew(true), Token.class));
+    }
+
+    @Override
+    public List<Token> revokeAllUserTokens(String userId) {
+        Query query = new Query(Criteria.where("userId").is(userId)
+                .and("revoked").is(false)
+                .and("expiresAt").gt(Instant.now())
+                .and("deleted").is(false));
+        query.fields().include("jti", "expiresAt");
+
+        List<Token> tokens = mongoTemplate.find(query, Token.class);
+        if (!tokens.isEmpty()) {
+            mongoTemplate.updateMulti(
+                    new Query(Criteria.where("_id").in(tokens.stream().map(Token::getId).toList())),
+                    new Update().set("revoked", true).set("updated", new Date().getTime()),
+                    Token.class);
+        }
+        return tokens;
+    }
+
+    @Override
+    public List<Token> findRevokedSince(long updatedSince) {
+        Query query = new Query(Criteria.where("revoked").is(true)
+                .and("updated").gte(updatedSince)
+                .and("expiresAt").gt(Instant.now())
+                .and("jti").exists(true));
+        query.fields().include("jti", "expiresAt");
+
+        return mongoTemplate.find(query, Token.class);
+    }
+
+    /**
+     * Atomically marks an unused refresh token as used. Each refresh token can be exchanged
+     * exactly once; an empty result means it is unknown, or has already been used or revoked.
+     */
+    @Override
+    public Optional<Token> consumeRefreshToken(String jti) {
+        Query query = new Query(Criteria.where("jti").is(jti)
+                .and("tokenType").is(TokenType.REFRESH)
+                .and("revoked").is(false)
+                .and("deleted").is(false));
+        Update update = new Update()
+                .set("revoked", true)
+                .set("updated", new Date().getTime());
+
+        return Optional.ofNullable(mongoTemplate.findAndModify(
+                query, update, FindAndModifyOptions.options().returnNew(true), Token.class));
+    }
+
+    @Override
+    public List<Token> revokeFamily(String familyId) {
+        if (familyId == null) {
+            return List.of();
+        }
+
+        Query query = new Query(Criteria.where("familyId").is(familyId)
+                .and("revoked").is(false)
+                .and("expiresAt").gt(Instant.now()));
+        query.fields().include("jti", "expiresAt");
+
+        List<Token> tokens = mongoTemplate.find(query, Token.class);
+        mongoTemplate.updateMulti(
+                new Query(Criteria.where("familyId").is(familyId).and("revoked").is(false)),
+                new Update().set("revoked", true).set("updated", new Date().getTime()),
+                Token.class);
+        return tokens;
+    }
+}
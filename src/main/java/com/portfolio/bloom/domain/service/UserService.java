@@ -3,7 +3,6 @@ package com.portfolio.bloom.domain.service;
 import com.portfolio.bloom.domain.dto.UserDto;
 import com.portfolio.bloom.domain.dto.UserResponseDto;
 import com.portfolio.bloom.domain.model.user.Role;
-import com.portfolio.bloom.domain.model.user.User;
 
 import java.util.Optional;
 
@@ -12,11 +11,16 @@ import java.util.Optional;
  */
 public interface UserService {
     
-    Optional<UserResponseDto> registerNewUser(UserDto request, Role role);
-    
-    void saveUserToken(User user, String jwtToken);
+    /**
+     * @throws com.portfolio.bloom.error.CommonException if the email or phone number is already in use
+     */
+    UserResponseDto registerNewUser(UserDto request, Role role);
     
     Optional<UserResponseDto> updateUser(UserDto user);
     
     Optional<UserResponseDto> getUserById(String userId);
+    
+    Optional<UserResponseDto> updateUserRole(String userId, Role role);
+    
+    boolean deleteUser(String userId);
 }
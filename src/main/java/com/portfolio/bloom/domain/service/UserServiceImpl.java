@@ -2,16 +2,18 @@ package com.portfolio.bloom.domain.service;
 
 import com.portfolio.bloom.domain.dto.UserDto;
 import com.portfolio.bloom.domain.dto.UserResponseDto;
-import com.portfolio.bloom.domain.model.Token;
-import com.portfolio.bloom.domain.dto.TokenType;
 import com.portfolio.bloom.domain.model.user.Role;
 import com.portfolio.bloom.domain.model.user.User;
 import com.portfolio.bloom.domain.repository.UserRepository;
+import com.portfolio.bloom.security.PasswordHashingService;
+import com.portfolio.bloom.security.PrincipalCache;
+import com.portfolio.bloom.security.SecurityVersionRegistry;
+import com.portfolio.bloom.error.CommonException;
+import com.portfolio.bloom.error.ErrorEnum;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
 import java.util.Date;
 import java.util.Optional;
 
@@ -22,51 +24,35 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+    private final SecurityVersionRegistry securityVersionRegistry;
 
     @Override
     @Transactional
-    public Optional<UserResponseDto> registerNewUser(UserDto request, Role role) {
-        // Check if user already exists
-        if (userRepository.existsByEmailAndDeletedIsFalse(request.getEmail())) {
-            return Optional.empty();
-        }
-
+    public UserResponseDto registerNewUser(UserDto request, Role role) {
         User user = User.builder()
                 .firstname(request.getFirstname())
                 .lastname(request.getLastname())
-                .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .email(User.normalizeEmail(request.getEmail()))
+                .password(passwordHashingService.encode(request.getPassword()))
                 .role(role != null ? role : Role.USER)
                 .phone(request.getPhone())
                 .address(request.getAddress())
                 .emailVerified(false)
-                .tokens(new ArrayList<>())
-                .build();
-
-        user = userRepository.save(user);
-        return Optional.of(UserResponseDto.fromUser(user));
-    }
-
-    @Override
-    @Transactional
-    public void saveUserToken(User user, String jwtToken) {
-        Token token = Token.builder()
-                .token(jwtToken)
-                .tokenType(TokenType.BEARER)
-                .expired(false)
-                .revoked(false)
-                .userId(user.getId())
-                .created(new Date().getTime())
                 .build();
 
-        if (user.getTokens() == null) {
-            user.setTokens(new ArrayList<>());
+        // Uniqueness is enforced by the partial unique indexes, so the insert is the only round-trip
+        try {
+            user = userRepository.insert(user);
+        } catch (DuplicateKeyException ex) {
+            if (ex.getMessage() != null && ex.getMessage().contains(User.PHONE_INDEX)) {
+                throw new CommonException(ErrorEnum.PHONE_ALREADY_USED_BY_ANOTHER_USER);
+            }
+            throw new CommonException(ErrorEnum.EMAIL_ALREADY_USED_BY_ANOTHER_USER);
         }
-        user.getTokens().add(token);
-        user.setUpdated(new Date().getTime());
-        userRepository.save(user);
+        return UserResponseDto.fromUser(user);
     }
 
     @Override
@@ -93,11 +79,18 @@ public class UserServiceImpl implements UserService {
             user.setAddress(userDto.getAddress());
         }
         if (userDto.getPassword() != null) {
-            user.setPassword(passwordEncoder.encode(userDto.getPassword()));
+            user.setPassword(passwordHashingService.encode(userDto.getPassword()));
+            user.setSecurityVersion(user.getSecurityVersion() + 1);
         }
 
         user.setUpdated(new Date().getTime());
-        user = userRepository.save(user);
+        try {
+            user = userRepository.save(user);
+        } catch (DuplicateKeyException ex) {
+            throw new CommonException(ErrorEnum.PHONE_ALREADY_USED_BY_ANOTHER_USER);
+        }
+        principalCache.invalidate(user);
+        securityVersionRegistry.bump(user.getId(), user.getSecurityVersion());
         
         return Optional.of(UserResponseDto.fromUser(user));
     }
@@ -112,4 +105,44 @@ public class UserServiceImpl implements UserService {
         
         return Optional.of(UserResponseDto.fromUser(user.get()));
     }
+
+    @Override
+    @Transactional
+    public Optional<UserResponseDto> updateUserRole(String userId, Role role) {
+        Optional<User> userOpt = userRepository.findById(userId);
+        
+        if (userOpt.isEmpty() || userOpt.get().isDeleted()) {
+            return Optional.empty();
+        }
+
+        User user = userOpt.get();
+        user.setRole(role);
+        user.setSecurityVersion(user.getSecurityVersion() + 1);
+        user.setUpdated(new Date().getTime());
+        user = userRepository.save(user);
+        principalCache.invalidate(user);
+        securityVersionRegistry.bump(user.getId(), user.getSecurityVersion());
+        
+        return Optional.of(UserResponseDto.fromUser(user));
+    }
+
+    @Override
+    @Transactional
+    public boolean deleteUser(String userId) {
+        Optional<User> userOpt = userRepository.findById(userId);
+        
+        if (userOpt.isEmpty() || userOpt.get().isDeleted()) {
+            return false;
+        }
+
+        User user = userOpt.get();
+        user.setDeleted(true);
+        user.setSecurityVersion(user.getSecurityVersion() + 1);
+        user.setUpdated(new Date().getTime());
+        userRepository.save(user);
+        principalCache.invalidate(user);
+        securityVersionRegistry.bump(user.getId(), user.getSecurityVersion());
+        
+        return true;
+    }
 }
@@ -0,0 +1,193 @@
+package com.portfolio.bloom.domain.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.portfolio.bloom.common.translation.LangList;
+import com.portfolio.bloom.domain.dto.OfferDto;
+import com.portfolio.bloom.domain.dto.VenueDto;
+import com.portfolio.bloom.domain.model.user.Address;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Read-through cache of translated venue details keyed by venue id and language.
+ *
+ * <p>Each entry is the finished {@code VenueDto} for one language, so a hit skips the query,
+ * the entity mapping and the translation. Entries are immutable snapshots: the translation maps
+ * and offers list are unmodifiable, and every read hands out its own copy of the DTO, address
+ * and offers, so no caller can change what later requests see. The cache is bounded by weight,
+ * roughly one unit per embedded offer and translation plus the description length, and evicts
+ * with Caffeine's W-TinyLFU policy.
+ *
+ * <p>{@code VenueServiceImpl} and {@code OfferServiceImpl} invalidate a venue after any write
+ * that touches it; the TTL only bounds staleness for writes made outside the services.
+ * Hit ratio, evictions and load times are published as {@code cache.*{cache=venues}}.
+ */
+@Component
+public class VenueCache {
+
+    private final Cache<Key, VenueDto> venues;
+
+    public VenueCache(
+            MeterRegistry meterRegistry,
+            @Value("${application.cache.venues.max-weight:50000}") long maxWeight,
+            @Value("${application.cache.venues.ttl:10m}") Duration ttl) {
+        this.venues = Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher(VenueCache::weigh)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, venues, "venues");
+    }
+
+    /**
+     * Returns the cached snapshot, computing it on a miss. Missing venues are not cached.
+     *
+     * @param id Venue id
+     * @param lang Resolved language code
+     * @param loader Loads and translates the venue
+     */
+    public Optional<VenueDto> get(String id, String lang, Supplier<Optional<VenueDto>> loader) {
+        return Optional.ofNullable(venues.get(new Key(id, lang),
+                key -> loader.get().map(VenueCache::freeze).orElse(null)))
+                .map(VenueCache::copy);
+    }
+
+    /**
+     * Drops every language of the venue.
+     */
+    public void invalidate(String venueId) {
+        if (venueId == null) {
+            return;
+        }
+        venues.invalidateAll(LangList.getSupportedLanguages().stream()
+                .map(lang -> new Key(venueId, lang))
+                .toList());
+    }
+
+    public void invalidateAll() {
+        venues.invalidateAll();
+    }
+
+    /**
+     * The snapshot kept in the cache; nothing reachable from it is shared with the loader.
+     */
+    private static VenueDto freeze(VenueDto dto) {
+        VenueDto snapshot = copy(dto);
+        snapshot.setTranslations(frozen(dto.getTranslations()));
+        if (dto.getOffers() != null) {
+            snapshot.setOffers(dto.getOffers().stream()
+                    .map(offer -> {
+                        OfferDto copy = copy(offer);
+                        copy.setTranslations(frozen(offer.getTranslations()));
+                        return copy;
+                    })
+                    .toList());
+        }
+        return snapshot;
+    }
+
+    /**
+     * A copy of the venue, its address and its offers; the frozen translation maps are shared.
+     */
+    private static VenueDto copy(VenueDto dto) {
+        return VenueDto.builder()
+                .id(dto.getId())
+                .deleted(dto.isDeleted())
+                .created(dto.getCreated())
+                .updated(dto.getUpdated())
+                .translations(dto.getTranslations())
+                .venueName(dto.getVenueName())
+                .address(copy(dto.getAddress()))
+                .userId(dto.getUserId())
+                .capacity(dto.getCapacity())
+                .description(dto.getDescription())
+                .highPrice(dto.getHighPrice())
+                .lowPrice(dto.getLowPrice())
+                .effectivePrice(dto.getEffectivePrice())
+                .venueType(dto.getVenueType())
+                .peopleType(dto.getPeopleType())
+                .rating(dto.getRating())
+                .priceType(dto.getPriceType())
+                .baseCurrency(dto.getBaseCurrency())
+                .offers(dto.getOffers() != null
+                        ? dto.getOffers().stream().map(VenueCache::copy).collect(Collectors.toList())
+                        : null)
+                .baseImage(dto.getBaseImage())
+                .version(dto.getVersion())
+                .distance(dto.getDistance())
+                .build();
+    }
+
+    private static OfferDto copy(OfferDto offer) {
+        return OfferDto.builder()
+                .id(offer.getId())
+                .deleted(offer.isDeleted())
+                .created(offer.getCreated())
+                .updated(offer.getUpdated())
+                .translations(offer.getTranslations())
+                .startDate(offer.getStartDate())
+                .endDate(offer.getEndDate())
+                .discountPercentage(offer.getDiscountPercentage())
+                .finalPrice(offer.getFinalPrice())
+                .userId(offer.getUserId())
+                .venueId(offer.getVenueId())
+                .active(offer.getActive())
+                .version(offer.getVersion())
+                .build();
+    }
+
+    private static Address copy(Address address) {
+        if (address == null) {
+            return null;
+        }
+        return Address.builder()
+                .country(address.getCountry())
+                .city(address.getCity())
+                .street(address.getStreet())
+                .state(address.getState())
+                .postalCode(address.getPostalCode())
+                .latitude(address.getLatitude())
+                .longitude(address.getLongitude())
+                .build();
+    }
+
+    private static Map<String, Map<String, String>> frozen(Map<String, Map<String, String>> translations) {
+        if (translations == null) {
+            return null;
+        }
+        return translations.entrySet().stream()
+                .filter(entry -> entry.getKey() != null && entry.getValue() != null)
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, entry -> Collections.unmodifiableMap(new HashMap<>(entry.getValue()))));
+    }
+
+    private static int weigh(Key key, VenueDto dto) {
+        int weight = 1;
+        if (dto.getOffers() != null) {
+            weight += dto.getOffers().size();
+        }
+        if (dto.getTranslations() != null) {
+            weight += dto.getTranslations().values().stream()
+                    .mapToInt(values -> values != null ? values.size() : 0)
+                    .sum();
+        }
+        if (dto.getDescription() != null) {
+            weight += dto.getDescription().length() / 128;
+        }
+        return weight;
+    }
+
+    private record Key(String id, String lang) {
+    }
+}
@@ -0,0 +1,190 @@
+package com.portfolio.bloom.domain.service;
+
+import com.portfolio.bloom.common.BaseEntity;
+import com.portfolio.bloom.domain.model.offer.Offer;
+import com.portfolio.bloom.domain.model.venue.Venue;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Maintains {@code Venue.effectivePrice}, the lower of the venue's {@code lowPrice} and the
+ * {@code finalPrice} of its live offers, so listings can sort on what a guest pays right now
+ * without joining offers at query time.
+ *
+ * <p>An offer going live can only lower the price, which a single {@code $min} does. Anything
+ * that may raise it, an offer ending, being edited or deleted or a new {@code lowPrice},
+ * recomputes the venue from its live offers in one pipeline update. {@link #repair()} recomputes
+ * every venue on a schedule and at startup, which fills the field for existing venues and
+ * corrects writes that raced; it only replaces a value that is still the one it read.
+ */
+@Slf4j
+@Component
+public class VenueEffectivePrice implements OfferLifecycleListener {
+
+    public static final String FIELD = "effectivePrice";
+
+    private static final String ID = "_id";
+    private static final String LOW_PRICE = "lowPrice";
+    private static final int BATCH = 500;
+
+    private final MongoTemplate mongoTemplate;
+    private final VenueCache venueCache;
+
+    public VenueEffectivePrice(MongoTemplate mongoTemplate, VenueCache venueCache) {
+        this.mongoTemplate = mongoTemplate;
+        this.venueCache = venueCache;
+    }
+
+    /**
+     * Lowers the venue's price to the offer's if the offer is live and cheaper.
+     */
+    public void offerCreated(Offer offer) {
+        if (!isLive(offer, Instant.now()) || offer.getFinalPrice() == null) {
+            return;
+        }
+        Query venue = new Query(Criteria.where(ID).is(offer.getVenueId())
+                .and(BaseEntity.Fields.DELETED).is(false));
+        long modified = mongoTemplate.updateFirst(venue,
+                new Update().min(FIELD, new Decimal128(offer.getFinalPrice())), Venue.class).getModifiedCount();
+        if (modified > 0) {
+            venueCache.invalidate(offer.getVenueId());
+        }
+    }
+
+    @Override
+    public void offersTransitioned(Collection<Object> offerIds) {
+        Query query = new Query(Criteria.where(ID).in(offerIds));
+        query.fields().include("venueId", "finalPrice", "startDate", "endDate", "active", BaseEntity.Fields.DELETED);
+        Instant now = Instant.now();
+        Map<Boolean, List<Offer>> byLive = mongoTemplate.find(query, Offer.class).stream()
+                .collect(Collectors.partitioningBy(offer -> isLive(offer, now)));
+        byLive.get(true).forEach(this::offerCreated);
+        byLive.get(false).stream()
+                .map(Offer::getVenueId)
+                .distinct()
+                .forEach(this::recompute);
+    }
+
+    /**
+     * Sets the venue's price from its {@code lowPrice} and current live offers.
+     *
+     * @return The new price, or null if the venue has neither
+     */
+    public BigDecimal recompute(String venueId) {
+        Date now = new Date();
+        Query live = new Query(liveOffers(now).and("venueId").is(venueId));
+        live.fields().include("finalPrice");
+        BigDecimal best = mongoTemplate.find(live, Offer.class).stream()
+                .map(Offer::getFinalPrice)
+                .filter(Objects::nonNull)
+                .min(BigDecimal::compareTo)
+                .orElse(null);
+
+        // $min skips the missing lowPrice of a venue without one
+        Object price = best != null
+                ? new Document("$min", List.of("$" + LOW_PRICE, new Decimal128(best)))
+                : "$" + LOW_PRICE;
+        AggregationUpdate update = AggregationUpdate.from(List.of(
+                context -> new Document("$set", new Document(FIELD, price))));
+        Query venue = new Query(Criteria.where(ID).is(venueId));
+        venue.fields().include(FIELD);
+        Venue updated = mongoTemplate.findAndModify(venue, update,
+                FindAndModifyOptions.options().returnNew(true), Venue.class);
+        venueCache.invalidate(venueId);
+        return updated != null ? updated.getEffectivePrice() : null;
+    }
+
+    /**
+     * Recomputes the price of every venue, writing only those that differ.
+     */
+    @Scheduled(fixedDelayString = "${application.venues.effective-price.repair-interval:3600000}")
+    public void repair() {
+        Query live = new Query(liveOffers(new Date()));
+        live.fields().include("venueId", "finalPrice");
+        Map<String, BigDecimal> best = new HashMap<>();
+        try (Stream<Offer> offers = mongoTemplate.stream(live, Offer.class)) {
+            offers.filter(offer -> offer.getFinalPrice() != null)
+                    .forEach(offer -> best.merge(offer.getVenueId(), offer.getFinalPrice(), BigDecimal::min));
+        }
+
+        Query venues = new Query(Criteria.where(BaseEntity.Fields.DELETED).is(false));
+        venues.fields().include(LOW_PRICE, FIELD);
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Venue.class);
+        int pending = 0;
+        long repaired = 0;
+        try (Stream<Venue> stream = mongoTemplate.stream(venues, Venue.class)) {
+            for (Venue venue : (Iterable<Venue>) stream::iterator) {
+                BigDecimal expected = min(venue.getLowPrice(), best.get(venue.getId()));
+                if (sameAmount(expected, venue.getEffectivePrice())) {
+                    continue;
+                }
+                Query unchanged = new Query(Criteria.where(ID).is(venue.getId())
+                        .and(FIELD).is(decimal(venue.getEffectivePrice())));
+                bulk.updateOne(unchanged, expected != null
+                        ? new Update().set(FIELD, new Decimal128(expected))
+                        : new Update().unset(FIELD));
+                if (++pending == BATCH) {
+                    repaired += bulk.execute().getModifiedCount();
+                    bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Venue.class);
+                    pending = 0;
+                }
+            }
+        }
+        if (pending > 0) {
+            repaired += bulk.execute().getModifiedCount();
+        }
+        if (repaired > 0) {
+            venueCache.invalidateAll();
+            log.info("Repaired the effective price of {} venues", repaired);
+        }
+    }
+
+    private static Criteria liveOffers(Date now) {
+        return Criteria.where(BaseEntity.Fields.DELETED).is(false)
+                .and("endDate").gt(now)
+                .and("startDate").lte(now)
+                .and("active").is(true);
+    }
+
+    private static BigDecimal min(BigDecimal a, BigDecimal b) {
+        if (a == null || b == null) {
+            return a != null ? a : b;
+        }
+        return a.min(b);
+    }
+
+    private static boolean sameAmount(BigDecimal a, BigDecimal b) {
+        return a == null ? b == null : b != null && a.compareTo(b) == 0;
+    }
+
+    private static Decimal128 decimal(BigDecimal value) {
+        return value != null ? new Decimal128(value) : null;
+    }
+
+    private static boolean isLive(Offer offer, Instant now) {
+        return !offer.isDeleted() && offer.isActive()
+                && offer.getStartDate() != null && !offer.getStartDate().isAfter(now)
+                && offer.getEndDate() != null && offer.getEndDate().isAfter(now);
+    }
+}
@@ -0,0 +1,185 @@
+package com.portfolio.bloom.domain.service;
+
+import com.portfolio.bloom.common.BaseEntity;
+import com.portfolio.bloom.domain.model.offer.Offer;
+import com.portfolio.bloom.domain.model.venue.Venue;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps {@code Venue.offers} in sync with the {@code offers} collection, which is the source of
+ * truth. A venue carries at most {@code size} of its live offers, highest discount first and
+ * then the one ending soonest, with only the fields a listing shows.
+ *
+ * <p>An offer going live is added with a single {@code $push} that sorts the array and slices it
+ * back to {@code size}, so the document never grows past the bound. When an offer that is in a
+ * summary changes or stops being live, the summary of that venue is rebuilt from its live offers
+ * instead, which lets an offer that was sliced off earlier move back in. A rebuild only writes
+ * over the summary it read, so a push or rebuild landing in between is not lost but makes it
+ * read again. A push only matches a venue whose summary does not list the offer yet, so
+ * concurrent pushes cannot duplicate it.
+ * Summary writes leave the venue's {@code version} alone, so they never fail an owner's
+ * concurrent edit.
+ */
+@Slf4j
+@Component
+public class VenueOfferSummary implements OfferLifecycleListener {
+
+    public static final String OFFERS = "offers";
+    public static final String OFFER_ID = "offers._id";
+
+    private static final String ID = "_id";
+    private static final int MAX_ATTEMPTS = 3;
+    private static final Sort BEST_FIRST = Sort.by(Sort.Direction.DESC, "discountPercentage")
+            .and(Sort.by(Sort.Direction.ASC, "endDate"));
+
+    private final MongoTemplate mongoTemplate;
+    private final VenueCache venueCache;
+    private final int size;
+
+    public VenueOfferSummary(
+            MongoTemplate mongoTemplate,
+            VenueCache venueCache,
+            @Value("${application.venues.offer-summary.size:5}") int size) {
+        this.mongoTemplate = mongoTemplate;
+        this.venueCache = venueCache;
+        this.size = size;
+    }
+
+    /**
+     * Adds, refreshes or removes the offer according to its current state.
+     */
+    public void update(Offer offer) {
+        String holder = findHolder(offer.getId());
+        if (holder != null) {
+            rebuild(holder);
+        }
+        if (isLive(offer, Instant.now()) && !offer.getVenueId().equals(holder)) {
+            push(offer);
+        }
+    }
+
+    public void remove(String offerId) {
+        String holder = findHolder(offerId);
+        if (holder != null) {
+            rebuild(holder);
+        }
+    }
+
+    @Override
+    public void offersTransitioned(Collection<Object> offerIds) {
+        Query query = new Query(Criteria.where(ID).in(offerIds));
+        Map<String, Offer> offers = mongoTemplate.find(query, Offer.class).stream()
+                .collect(Collectors.toMap(Offer::getId, Function.identity()));
+        for (Object id : offerIds) {
+            Offer offer = offers.get(String.valueOf(id));
+            if (offer != null) {
+                update(offer);
+            } else {
+                remove(String.valueOf(id));
+            }
+        }
+    }
+
+    /**
+     * Replaces the venue's summary with its current best live offers, provided the summary is
+     * still the one read before the offers were; otherwise reads both again.
+     */
+    public void rebuild(String venueId) {
+        String venues = mongoTemplate.getCollectionName(Venue.class);
+        Object venueKey = objectId(venueId);
+        for (int attempt = 1; ; attempt++) {
+            Query current = new Query(Criteria.where(ID).is(venueKey));
+            current.fields().include(OFFERS);
+            Document venue = mongoTemplate.findOne(current, Document.class, venues);
+            if (venue == null) {
+                return;
+            }
+            Object read = venue.get(OFFERS);
+
+            Date now = new Date();
+            Query live = new Query(Criteria.where("venueId").is(venueId)
+                    .and("active").in(List.of(true))
+                    .and("startDate").lte(now)
+                    .and("endDate").gt(now)
+                    .and(BaseEntity.Fields.DELETED).is(false))
+                    .with(BEST_FIRST)
+                    .limit(size);
+            List<Document> summary = mongoTemplate.find(live, Offer.class).stream()
+                    .map(this::summaryOf)
+                    .toList();
+
+            // A null summary matches a venue without one as well
+            Query unchanged = new Query(Criteria.where(ID).is(venueKey).and(OFFERS).is(read));
+            if (mongoTemplate.updateFirst(unchanged, new Update().set(OFFERS, summary), venues)
+                    .getMatchedCount() > 0) {
+                break;
+            }
+            if (attempt == MAX_ATTEMPTS) {
+                // Left to the next change of one of the venue's offers
+                log.warn("Offer summary of venue {} kept changing, gave up after {} attempts", venueId, attempt);
+                break;
+            }
+        }
+        venueCache.invalidate(venueId);
+    }
+
+    private void push(Offer offer) {
+        Update update = new Update();
+        update.push(OFFERS).sort(BEST_FIRST).slice(size).each(summaryOf(offer));
+        // Instances apply the same transition concurrently; only the first push may land
+        Query venue = new Query(Criteria.where(ID).is(offer.getVenueId())
+                .and(BaseEntity.Fields.DELETED).is(false)
+                .and(OFFER_ID).ne(objectId(offer.getId())));
+        mongoTemplate.updateFirst(venue, update, Venue.class);
+        venueCache.invalidate(offer.getVenueId());
+    }
+
+    /**
+     * @return Id of the venue whose summary lists the offer, or null if none does
+     */
+    private String findHolder(String offerId) {
+        Query query = new Query(Criteria.where(OFFER_ID).is(objectId(offerId)));
+        query.fields().include(ID);
+        Document venue = mongoTemplate.findOne(query, Document.class, mongoTemplate.getCollectionName(Venue.class));
+        return venue != null ? String.valueOf(venue.get(ID)) : null;
+    }
+
+    private Document summaryOf(Offer offer) {
+        MongoConverter converter = mongoTemplate.getConverter();
+        return new Document(ID, objectId(offer.getId()))
+                .append("venueId", offer.getVenueId())
+                .append("startDate", Date.from(offer.getStartDate()))
+                .append("endDate", Date.from(offer.getEndDate()))
+                .append("discountPercentage", offer.getDiscountPercentage())
+                .append("finalPrice", converter.convertToMongoType(offer.getFinalPrice()))
+                .append("active", offer.isActive());
+    }
+
+    private Object objectId(String id) {
+        return mongoTemplate.getConverter().convertId(id, ObjectId.class);
+    }
+
+    private static boolean isLive(Offer offer, Instant now) {
+        return !offer.isDeleted() && offer.isActive()
+                && offer.getStartDate() != null && !offer.getStartDate().isAfter(now)
+                && offer.getEndDate() != null && offer.getEndDate().isAfter(now);
+    }
+}
@@ -1,9 +1,16 @@
 package com.portfolio.bloom.domain.service;
 
+import com.portfolio.bloom.domain.dto.CursorSlice;
 import com.portfolio.bloom.domain.dto.VenueDto;
+import com.portfolio.bloom.domain.dto.VenueSearchFilter;
+import com.portfolio.bloom.domain.dto.VenueSummaryDto;
+import com.portfolio.bloom.domain.repository.CountMode;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -13,11 +20,60 @@ public interface VenueService {
     
     Optional<VenueDto> getVenueById(String id, String lang);
     
-    Page<VenueDto> getAllVenues(Pageable pageable, String lang);
+    Page<VenueDto> getAllVenues(Pageable pageable, CountMode countMode, String lang);
     
-    Page<VenueDto> getVenuesByUserId(String userId, Pageable pageable, String lang);
+    Page<VenueDto> getVenuesByUserId(String userId, Pageable pageable, CountMode countMode, String lang);
     
-    Optional<VenueDto> createVenue(VenueDto dto, String userId);
+    /**
+     * Venues matching every set filter, each combination served from a search index.
+     *
+     * @throws com.portfolio.bloom.error.CommonException if a type is unknown or a range is empty
+     */
+    Page<VenueDto> searchVenues(VenueSearchFilter filter, Pageable pageable, CountMode countMode, String lang);
+    
+    /**
+     * Keyset-paginated listing. Page depth does not affect latency and no count is run.
+     *
+     * @param userId Owner to filter on, or null for all venues
+     * @param cursor {@code nextCursor} of the previous slice, or null for the first
+     * @param sortBy Index-backed field resolved through {@code QueryPolicy}
+     * @throws com.portfolio.bloom.error.CommonException if the cursor is malformed or was
+     *         issued for another sort
+     */
+    CursorSlice<VenueDto> scrollVenues(String userId, String sortBy, Sort.Direction direction, int size,
+            String cursor, String lang);
+    
+    /**
+     * Venues within {@code radius} meters of the given point, nearest first, with their
+     * {@code distance} set. Venues without coordinates are never returned.
+     *
+     * @param venueType Venue type to filter on, or null for any
+     * @param peopleType People type to filter on, or null for any
+     * @param cursor {@code nextCursor} of the previous slice, or null for the first
+     * @throws com.portfolio.bloom.error.CommonException if the coordinates, a type or the
+     *         cursor is invalid
+     */
+    CursorSlice<VenueDto> findNearby(double latitude, double longitude, int radius, String venueType,
+            String peopleType, int size, String cursor, String lang);
+    
+    /**
+     * @param userId Owner to filter on, or null for all venues
+     */
+    Page<VenueSummaryDto> getVenueSummaries(String userId, Pageable pageable, CountMode countMode, String lang);
+    
+    /**
+     * Reads only the requested venue properties; the id is always included.
+     *
+     * @param userId Owner to filter on, or null for all venues
+     * @throws com.portfolio.bloom.error.CommonException if a property cannot be requested
+     */
+    Page<Map<String, Object>> getVenueFields(String userId, Pageable pageable, CountMode countMode, String lang,
+            List<String> fields);
+    
+    /**
+     * @throws com.portfolio.bloom.error.CommonException if a venue with the same name already exists
+     */
+    VenueDto createVenue(VenueDto dto, String userId);
     
     Optional<VenueDto> updateVenue(String id, VenueDto dto);
     
@@ -1,139 +1,267 @@
 package com.portfolio.bloom.domain.service;
 
-import com.portfolio.bloom.common.Constants;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.bloom.common.BaseEntity;
 import com.portfolio.bloom.common.translation.LangList;
+import com.portfolio.bloom.domain.common.PatchUpdate;
+import com.portfolio.bloom.domain.dto.CursorSlice;
 import com.portfolio.bloom.domain.dto.VenueDto;
+import com.portfolio.bloom.domain.dto.VenueSearchFilter;
+import com.portfolio.bloom.domain.dto.VenueSummaryDto;
+import com.portfolio.bloom.domain.model.venue.PeopleType;
+import com.portfolio.bloom.domain.model.venue.PriceType;
 import com.portfolio.bloom.domain.model.venue.Venue;
+import com.portfolio.bloom.domain.model.venue.VenueType;
+import com.portfolio.bloom.domain.repository.CountMode;
+import com.portfolio.bloom.domain.repository.KeysetCursor;
+import com.portfolio.bloom.domain.repository.PageCounter;
+import com.portfolio.bloom.domain.repository.VenueFieldSet;
 import com.portfolio.bloom.domain.repository.VenueRepository;
+import com.portfolio.bloom.domain.repository.VenueRepositoryCustom;
+import com.portfolio.bloom.domain.repository.VenueSearchPlanner;
+import com.portfolio.bloom.security.auth.OwnershipPredicate;
+import com.mongodb.client.result.UpdateResult;
+import com.portfolio.bloom.error.CommonException;
+import com.portfolio.bloom.error.ErrorEnum;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.bson.types.Decimal128;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.Metrics;
+import org.springframework.data.geo.Point;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Venue service implementation.
+ * Updates and deletes are single conditional writes whose filter carries the ownership check.
  */
 @Service
 @RequiredArgsConstructor
 public class VenueServiceImpl implements VenueService {
 
+    private static final String VENUE = "venue";
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
+
     private final VenueRepository venueRepository;
+    private final MongoTemplate mongoTemplate;
+    private final OwnershipPredicate ownershipPredicate;
+    private final VenueCache venueCache;
+    private final ObjectMapper objectMapper;
+    private final PageCounter pageCounter;
+    private final DealIndex dealIndex;
+    private final VenueEffectivePrice venueEffectivePrice;
 
     @Override
     public Optional<VenueDto> getVenueById(String id, String lang) {
         String resolvedLang = LangList.resolveLanguage(lang);
-        Optional<VenueDto> venueDto = venueRepository.findByIdAndDeletedIsFalse(id)
-                .map(VenueDto::fromEntity);
+        return venueCache.get(id, resolvedLang, () -> venueRepository.findLocalizedById(id, resolvedLang)
+                .map(VenueDto::fromEntity));
+    }
 
-        if (venueDto.isPresent() && !resolvedLang.equals(Constants.DEFAULT_LANGUAGE)) {
-            VenueDto.translateVenue(venueDto.get(), resolvedLang);
-        }
-        
-        return venueDto;
+    @Override
+    public Page<VenueDto> getAllVenues(Pageable pageable, CountMode countMode, String lang) {
+        String resolvedLang = LangList.resolveLanguage(lang);
+        return venueRepository.findLocalized(new Criteria(), pageable, countMode, resolvedLang)
+                .map(VenueDto::fromEntity);
     }
 
     @Override
-    public Page<VenueDto> getAllVenues(Pageable pageable, String lang) {
+    public Page<VenueDto> getVenuesByUserId(String userId, Pageable pageable, CountMode countMode, String lang) {
         String resolvedLang = LangList.resolveLanguage(lang);
-        Page<VenueDto> venueDtos = venueRepository.findAllByDeletedIsFalse(pageable)
+        return venueRepository.findLocalized(Criteria.where("userId").is(userId), pageable, countMode, resolvedLang)
                 .map(VenueDto::fromEntity);
+    }
 
-        if (!venueDtos.isEmpty() && !resolvedLang.equals(Constants.DEFAULT_LANGUAGE)) {
-            venueDtos.forEach(v -> VenueDto.translateVenue(v, resolvedLang));
+    @Override
+    public Page<VenueDto> searchVenues(VenueSearchFilter filter, Pageable pageable, CountMode countMode, String lang) {
+        Criteria criteria = new Criteria();
+        if (filter.getCity() != null) {
+            criteria.and(VenueSearchPlanner.CITY).is(filter.getCity());
+        }
+        if (filter.getVenueType() != null) {
+            criteria.and(VenueSearchPlanner.VENUE_TYPE).is(enumName(VenueType.class, filter.getVenueType()));
+        }
+        if (filter.getPeopleType() != null) {
+            criteria.and(VenueSearchPlanner.PEOPLE_TYPE).is(enumName(PeopleType.class, filter.getPeopleType()));
+        }
+        if (filter.getPriceType() != null) {
+            criteria.and(VenueSearchPlanner.PRICE_TYPE).is(enumName(PriceType.class, filter.getPriceType()));
+        }
+        range(criteria, VenueSearchPlanner.CAPACITY, filter.getMinCapacity(), filter.getMaxCapacity());
+        range(criteria, VenueSearchPlanner.LOW_PRICE,
+                filter.getMinPrice() != null ? new Decimal128(filter.getMinPrice()) : null,
+                filter.getMaxPrice() != null ? new Decimal128(filter.getMaxPrice()) : null);
+        range(criteria, VenueSearchPlanner.RATING, filter.getMinRating(), null);
+
+        return venueRepository.searchLocalized(criteria, pageable, countMode, LangList.resolveLanguage(lang))
+                .map(VenueDto::fromEntity);
+    }
+
+    private static <T extends Comparable<T>> void range(Criteria criteria, String field, T min, T max) {
+        if (min == null && max == null) {
+            return;
+        }
+        if (min != null && max != null && min.compareTo(max) > 0) {
+            throw new CommonException(ErrorEnum.INVALID_REQUEST);
+        }
+        Criteria bounds = criteria.and(field);
+        if (min != null) {
+            bounds.gte(min);
+        }
+        if (max != null) {
+            bounds.lte(max);
         }
-        
-        return venueDtos;
     }
 
     @Override
-    public Page<VenueDto> getVenuesByUserId(String userId, Pageable pageable, String lang) {
-        String resolvedLang = LangList.resolveLanguage(lang);
-        Page<VenueDto> venueDtos = venueRepository.findByUserIdAndDeletedIsFalse(userId, pageable)
+    public CursorSlice<VenueDto> scrollVenues(String userId, String sortBy, Sort.Direction direction, int size,
+            String cursor, String lang) {
+        KeysetCursor position = KeysetCursor.decode(cursor, sortBy, direction)
+                .orElseThrow(() -> new CommonException(ErrorEnum.INVALID_REQUEST));
+
+        return venueRepository.scrollLocalized(ownerCriteria(userId), position, size,
+                        LangList.resolveLanguage(lang))
                 .map(VenueDto::fromEntity);
+    }
 
-        if (!venueDtos.isEmpty() && !resolvedLang.equals(Constants.DEFAULT_LANGUAGE)) {
-            venueDtos.forEach(v -> VenueDto.translateVenue(v, resolvedLang));
+    @Override
+    public CursorSlice<VenueDto> findNearby(double latitude, double longitude, int radius, String venueType,
+            String peopleType, int size, String cursor, String lang) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new CommonException(ErrorEnum.INVALID_REQUEST);
         }
-        
-        return venueDtos;
+        KeysetCursor position = KeysetCursor.decode(cursor, VenueRepositoryCustom.DISTANCE, Sort.Direction.ASC)
+                .orElseThrow(() -> new CommonException(ErrorEnum.INVALID_REQUEST));
+
+        Criteria criteria = new Criteria();
+        if (venueType != null) {
+            criteria.and("venueType").is(enumName(VenueType.class, venueType));
+        }
+        if (peopleType != null) {
+            criteria.and("peopleType").is(enumName(PeopleType.class, peopleType));
+        }
+
+        return venueRepository.scrollNearby(new Point(longitude, latitude),
+                        new Distance(radius / 1000.0, Metrics.KILOMETERS), criteria, position, size,
+                        LangList.resolveLanguage(lang))
+                .map(result -> {
+                    VenueDto dto = VenueDto.fromEntity(result.getContent());
+                    dto.setDistance(Math.round(result.getDistance().getValue() * 1000));
+                    return dto;
+                });
     }
 
-    @Override
-    @Transactional
-    public Optional<VenueDto> createVenue(VenueDto dto, String userId) {
-        // Check if venue name already exists
-        if (venueRepository.existsByVenueNameAndDeletedIsFalse(dto.getVenueName())) {
-            return Optional.empty();
+    private static <E extends Enum<E>> String enumName(Class<E> type, String value) {
+        try {
+            return Enum.valueOf(type, value.toUpperCase()).name();
+        } catch (IllegalArgumentException ex) {
+            throw new CommonException(ErrorEnum.INVALID_REQUEST);
         }
+    }
+
+    @Override
+    public Page<VenueSummaryDto> getVenueSummaries(String userId, Pageable pageable, CountMode countMode, String lang) {
+        return venueRepository.findLocalized(ownerCriteria(userId), pageable, countMode, LangList.resolveLanguage(lang),
+                        VenueSummaryDto.FIELDS)
+                .map(VenueSummaryDto::fromEntity);
+    }
+
+    @Override
+    public Page<Map<String, Object>> getVenueFields(String userId, Pageable pageable, CountMode countMode, String lang,
+            List<String> fields) {
+        Set<String> paths = VenueFieldSet.paths(fields)
+                .orElseThrow(() -> new CommonException(ErrorEnum.INVALID_REQUEST));
+
+        return venueRepository.findLocalized(ownerCriteria(userId), pageable, countMode, LangList.resolveLanguage(lang),
+                        paths)
+                .map(venue -> {
+                    Map<String, Object> values = objectMapper.convertValue(VenueDto.fromEntity(venue), MAP_TYPE);
+                    values.keySet().retainAll(fields);
+                    values.put(BaseEntity.Fields.ID, venue.getId());
+                    return values;
+                });
+    }
 
+    private static Criteria ownerCriteria(String userId) {
+        return userId != null ? Criteria.where("userId").is(userId) : new Criteria();
+    }
+
+    @Override
+    @Transactional
+    public VenueDto createVenue(VenueDto dto, String userId) {
         Venue venue = VenueDto.toEntity(dto);
         venue.setUserId(userId);
         venue.setDeleted(false);
         venue.setCreated(new Date().getTime());
-        venue = venueRepository.save(venue);
+        venue.setLocation(Venue.locationOf(venue.getAddress()));
+        // Filled from the offers collection by VenueOfferSummary
+        venue.setOffers(List.of());
+        venue.setEffectivePrice(venue.getLowPrice());
+        // Name uniqueness is enforced by the partial unique index, so the insert is the only round-trip
+        try {
+            venue = venueRepository.insert(venue);
+        } catch (DuplicateKeyException ex) {
+            throw new CommonException(ErrorEnum.VENUE_NAME_ALREADY_EXISTS, dto.getVenueName() + " ");
+        }
+        pageCounter.invalidate(Venue.class);
         
-        return Optional.of(VenueDto.fromEntity(venue));
+        return VenueDto.fromEntity(venue);
     }
 
     @Override
     @Transactional
     public Optional<VenueDto> updateVenue(String id, VenueDto dto) {
-        Optional<Venue> venueOpt = venueRepository.findByIdAndDeletedIsFalse(id);
-        
-        if (venueOpt.isEmpty()) {
-            return Optional.empty();
-        }
+        PatchUpdate patch = PatchUpdate.create()
+                .set("venueName", dto.getVenueName())
+                .set("address", dto.getAddress())
+                .set(Venue.LOCATION, dto.getAddress(), Venue::locationOf)
+                .set("capacity", dto.getCapacity())
+                .set("description", dto.getDescription())
+                .set("highPrice", dto.getHighPrice())
+                .set("lowPrice", dto.getLowPrice())
+                .set("venueType", dto.getVenueTypeEnum())
+                .set("peopleType", dto.getPeopleTypeEnum())
+                .set("rating", dto.getRating())
+                .set("priceType", dto.getPriceTypeEnum())
+                .set("baseCurrency", dto.getBaseCurrency())
+                .set("baseImage", dto.getBaseImage());
 
-        Venue venue = venueOpt.get();
-        
-        if (dto.getVenueName() != null) {
-            venue.setVenueName(dto.getVenueName());
-        }
-        if (dto.getAddress() != null) {
-            venue.setAddress(dto.getAddress());
-        }
-        if (dto.getCapacity() != null) {
-            venue.setCapacity(dto.getCapacity());
+        Venue venue;
+        try {
+            venue = mongoTemplate.findAndModify(
+                    ownershipPredicate.ownedBy(id, dto.getVersion()),
+                    patch.toUpdate(),
+                    FindAndModifyOptions.options().returnNew(true),
+                    Venue.class);
+        } catch (DuplicateKeyException ex) {
+            throw new CommonException(ErrorEnum.VENUE_NAME_ALREADY_EXISTS, dto.getVenueName() + " ");
         }
-        if (dto.getDescription() != null) {
-            venue.setDescription(dto.getDescription());
-        }
-        if (dto.getHighPrice() != null) {
-            venue.setHighPrice(dto.getHighPrice());
+        
+        if (venue == null) {
+            ownershipPredicate.explainMiss(id, VENUE);
+            return Optional.empty();
         }
+        venueCache.invalidate(id);
+        pageCounter.invalidate(Venue.class);
+        dealIndex.venueChanged(venue);
         if (dto.getLowPrice() != null) {
-            venue.setLowPrice(dto.getLowPrice());
-        }
-        if (dto.getVenueTypeEnum() != null) {
-            venue.setVenueType(dto.getVenueTypeEnum());
+            venue.setEffectivePrice(venueEffectivePrice.recompute(id));
         }
-        if (dto.getPeopleTypeEnum() != null) {
-            venue.setPeopleType(dto.getPeopleTypeEnum());
-        }
-        if (dto.getRating() != null) {
-            venue.setRating(dto.getRating());
-        }
-        if (dto.getPriceTypeEnum() != null) {
-            venue.setPriceType(dto.getPriceTypeEnum());
-        }
-        if (dto.getBaseCurrency() != null) {
-            venue.setBaseCurrency(dto.getBaseCurrency());
-        }
-        if (dto.getBaseImage() != null) {
-            venue.setBaseImage(dto.getBaseImage());
-        }
-        if (dto.getOffers() != null) {
-            venue.setOffers(dto.getOffers().stream()
-                    .map(com.portfolio.bloom.domain.dto.OfferDto::toEntity)
-                    .collect(java.util.stream.Collectors.toList()));
-        }
-
-        venue.setUpdated(new Date().getTime());
-        venue = venueRepository.save(venue);
         
         return Optional.of(VenueDto.fromEntity(venue));
     }
@@ -141,16 +269,18 @@ public class VenueServiceImpl implements VenueService {
     @Override
     @Transactional
     public boolean deleteVenue(String id) {
-        Optional<Venue> venueOpt = venueRepository.findByIdAndDeletedIsFalse(id);
+        Update update = new Update()
+                .set("deleted", true)
+                .set("updated", new Date().getTime());
+        UpdateResult result = mongoTemplate.updateFirst(ownershipPredicate.ownedBy(id), update, Venue.class);
         
-        if (venueOpt.isEmpty()) {
+        if (result.getMatchedCount() == 0) {
+            ownershipPredicate.explainMiss(id, VENUE);
             return false;
         }
-
-        Venue venue = venueOpt.get();
-        venue.setDeleted(true);
-        venue.setUpdated(new Date().getTime());
-        venueRepository.save(venue);
+        venueCache.invalidate(id);
+        pageCounter.invalidate(Venue.class);
+        dealIndex.venueDeleted(id);
         
         return true;
     }
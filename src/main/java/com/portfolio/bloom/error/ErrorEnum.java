@@ -8,6 +8,7 @@ public enum ErrorEnum {
     EMAIL_ALREADY_USED_BY_ANOTHER_USER(400001, "error.user.email.already-used", "Email already used by another user"),
     USER_NOT_FOUND(400002, "error.user.not-found", "User not found"),
     USER_ROLE_NOT_ALLOWED(400003, "error.user-role-not-allowed", "User role not allowed"),
+    PHONE_ALREADY_USED_BY_ANOTHER_USER(400004, "error.user.phone.already-used", "Phone number already used by another user"),
     
     // Offer errors
     OFFER_NOT_FOUND(400010, "error.offer.not-found", "Offer %snot found"),
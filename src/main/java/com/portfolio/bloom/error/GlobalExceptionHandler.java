@@ -1,6 +1,8 @@
 package com.portfolio.bloom.error;
 
 import com.mongodb.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -13,6 +15,7 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Global exception handler for REST API errors.
@@ -102,6 +105,32 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponses, HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<List<ErrorResponse>> handleOptimisticLockingFailureException(
+            OptimisticLockingFailureException ex) {
+        List<ErrorResponse> errorResponses = new ArrayList<>();
+        errorResponses.add(new ErrorResponse(
+                HttpStatus.CONFLICT.value(), 
+                HttpStatus.CONFLICT.name(), 
+                "Record was modified by another request. Reload and retry."));
+
+        return new ResponseEntity<>(errorResponses, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<List<ErrorResponse>> handleRejectedExecutionException(
+            RejectedExecutionException ex) {
+        List<ErrorResponse> errorResponses = new ArrayList<>();
+        errorResponses.add(new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(), 
+                HttpStatus.SERVICE_UNAVAILABLE.name(), 
+                "Service is busy. Please retry shortly."));
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorResponses);
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<List<ErrorResponse>> handleIllegalArgumentException(
             IllegalArgumentException ex) {
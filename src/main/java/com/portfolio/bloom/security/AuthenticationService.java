@@ -1,23 +1,26 @@
 package com.portfolio.bloom.security;
 
+import com.portfolio.bloom.config.JwtClaims;
 import com.portfolio.bloom.config.JwtService;
 import com.portfolio.bloom.domain.dto.AuthenticationRequest;
 import com.portfolio.bloom.domain.dto.AuthenticationResponse;
 import com.portfolio.bloom.domain.dto.TokenType;
 import com.portfolio.bloom.domain.dto.UserResponseDto;
+import com.portfolio.bloom.domain.model.Token;
 import com.portfolio.bloom.domain.model.user.User;
 import com.portfolio.bloom.domain.repository.UserRepository;
-import com.portfolio.bloom.domain.service.UserService;
+import com.portfolio.bloom.domain.service.TokenService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Authentication service for handling login and token generation.
+ * The user is looked up once and the password is verified on the {@link PasswordHashingService} pool.
  */
 @Service
 @RequiredArgsConstructor
@@ -25,8 +28,11 @@ public class AuthenticationService {
 
     private final UserRepository userRepository;
     private final JwtService jwtService;
-    private final AuthenticationManager authenticationManager;
-    private final UserService userService;
+    private final PasswordHashingService passwordHashingService;
+    private final TokenService tokenService;
+    private final TokenRevocationList tokenRevocationList;
+    private final PrincipalCache principalCache;
+    private final SecurityVersionRegistry securityVersionRegistry;
 
     public AuthenticationResponse authenticate(AuthenticationRequest request) {
         Optional<User> userOptional = userRepository.findByEmailOrPhoneNumberAndDeletedIsFalse(request.getUsername());
@@ -37,17 +43,79 @@ public class AuthenticationService {
 
         User user = userOptional.get();
 
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        request.getUsername(),
-                        request.getPassword()
-                )
-        );
+        if (!user.isEnabled() || !passwordHashingService.matches(request.getPassword(), user.getPassword())) {
+            throw new BadCredentialsException("Invalid username or password");
+        }
+
+        return issueTokens(user, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Exchanges a refresh token for a new access/refresh token pair without re-verifying the
+     * password. Refresh tokens are single use: presenting one that was already exchanged is
+     * treated as theft, and every token of its family is revoked. A refresh token older than the
+     * user's current security version is rejected the same way.
+     *
+     * @param refreshToken Refresh token issued by {@link #authenticate} or a previous refresh
+     * @return New token pair in the same family
+     */
+    public AuthenticationResponse refresh(String refreshToken) {
+        JwtClaims claims = jwtService.verify(refreshToken)
+                .filter(JwtClaims::isRefreshToken)
+                .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+
+        if (tokenService.consumeRefreshToken(claims.getId()).isEmpty()) {
+            tokenRevocationList.revokeAll(tokenService.revokeFamily(claims.getFamilyId()));
+            throw new BadCredentialsException("Refresh token has already been used or revoked");
+        }
+        tokenRevocationList.revoke(claims.getId(), claims.getExpiration().toInstant());
+
+        User user = principalCache.get(claims.getSubject())
+                .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+        // Tokens issued before refresh tokens carried a version count as version 0
+        long version = claims.getSecurityVersion() != null ? claims.getSecurityVersion() : 0L;
+        if (!securityVersionRegistry.isCurrent(user.getId(), version)) {
+            tokenRevocationList.revokeAll(tokenService.revokeFamily(claims.getFamilyId()));
+            throw new BadCredentialsException("Refresh token was issued before a security change");
+        }
+
+        return issueTokens(user, claims.getFamilyId());
+    }
+
+    /**
+     * Ends the session of the token: the token itself and every other token of its family,
+     * including the refresh token, are rejected on every subsequent request.
+     *
+     * @param jwtToken Token taken from the Authorization header
+     * @return true if the token was found and revoked
+     */
+    public boolean logout(String jwtToken) {
+        Optional<Token> revoked = tokenService.revokeToken(jwtToken);
+        revoked.ifPresent(token -> {
+            tokenRevocationList.revoke(token.getJti(), token.getExpiresAt());
+            tokenRevocationList.revokeAll(tokenService.revokeFamily(token.getFamilyId()));
+        });
+        return revoked.isPresent();
+    }
+
+    /**
+     * Revokes every live token issued to the user, signing them out of all sessions.
+     *
+     * @param userId Id of the user
+     * @return Number of tokens revoked
+     */
+    public int logoutAll(String userId) {
+        List<Token> revoked = tokenService.revokeAllUserTokens(userId);
+        tokenRevocationList.revokeAll(revoked);
+        return revoked.size();
+    }
 
-        String jwtToken = jwtService.generateToken(user);
-        String refreshToken = jwtService.generateRefreshToken(user);
+    private AuthenticationResponse issueTokens(User user, String familyId) {
+        String jwtToken = jwtService.generateToken(user, familyId);
+        String refreshToken = jwtService.generateRefreshToken(user, familyId);
         
-        userService.saveUserToken(user, jwtToken);
+        tokenService.saveUserToken(user, jwtToken);
+        tokenService.saveUserToken(user, refreshToken);
 
         return AuthenticationResponse.builder()
                 .accessToken(jwtToken)
@@ -0,0 +1,109 @@
+package com.portfolio.bloom.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs password hashing and verification on a dedicated, bounded worker pool.
+ *
+ * <p>BCrypt is deliberately slow, so running it on servlet threads lets a burst of logins
+ * starve every other endpoint. Work is queued up to {@code queue-capacity}; beyond that,
+ * or when a caller waits longer than {@code timeout}, a {@link RejectedExecutionException}
+ * is thrown, which {@code GlobalExceptionHandler} turns into a 503.
+ *
+ * <p>Queue wait and hash time are published as {@code auth.password.queue.wait} and
+ * {@code auth.password.hash}, and the pool itself as {@code executor.*{name=password-hashing}}.
+ */
+@Service
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+    private final MeterRegistry meterRegistry;
+
+    public PasswordHashingService(
+            PasswordEncoder passwordEncoder,
+            MeterRegistry meterRegistry,
+            @Value("${application.security.password-hashing.pool-size:0}") int poolSize,
+            @Value("${application.security.password-hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${application.security.password-hashing.timeout:5s}") Duration timeout) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadIndex = new AtomicInteger();
+
+        this.passwordEncoder = passwordEncoder;
+        this.meterRegistry = meterRegistry;
+        this.timeout = timeout;
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "password-hashing");
+    }
+
+    public String encode(CharSequence rawPassword) {
+        return submit("encode", () -> passwordEncoder.encode(rawPassword));
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit("matches", () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    private <T> T submit(String operation, Callable<T> work) {
+        Timer queueWait = Timer.builder("auth.password.queue.wait")
+                .tag("operation", operation)
+                .register(meterRegistry);
+        Timer hashTime = Timer.builder("auth.password.hash")
+                .tag("operation", operation)
+                .register(meterRegistry);
+
+        long submitted = System.nanoTime();
+        Future<T> future = executor.submit(() -> {
+            queueWait.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+            return hashTime.recordCallable(work);
+        });
+
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            throw new RejectedExecutionException("Password hashing timed out", ex);
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for password hashing", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", ex.getCause());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
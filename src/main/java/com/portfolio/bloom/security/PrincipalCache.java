@@ -0,0 +1,81 @@
+package com.portfolio.bloom.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.portfolio.bloom.domain.model.user.User;
+import com.portfolio.bloom.domain.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Bounded cache of authenticated principals keyed by token subject.
+ *
+ * <p>Saves the user lookup that {@code JwtAuthenticationFilter} would otherwise run on every
+ * authenticated request. Entries are evicted on size and TTL, and explicitly by
+ * {@code UserServiceImpl} whenever a user is updated, deleted or changes role.
+ * Hit and miss counts are published as {@code cache.gets{cache=principals}}.
+ */
+@Component
+public class PrincipalCache {
+
+    private final UserRepository userRepository;
+    private final Cache<String, User> principals;
+
+    public PrincipalCache(
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${application.security.principal-cache.max-size:10000}") long maxSize,
+            @Value("${application.security.principal-cache.ttl:5m}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, "principals");
+    }
+
+    /**
+     * Returns the principal for the subject, loading it from the repository on a miss.
+     * Unknown or deleted users are not cached.
+     *
+     * @param subject Token subject (the user's email)
+     * @return The user, or empty if no active user matches the subject
+     */
+    public Optional<User> get(String subject) {
+        if (subject == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(principals.get(subject,
+                key -> userRepository.findByEmailOrPhoneNumberAndDeletedIsFalse(key).orElse(null)));
+    }
+
+    public void invalidate(String subject) {
+        if (subject != null) {
+            principals.invalidate(subject);
+        }
+    }
+
+    public void invalidate(User user) {
+        if (user != null) {
+            invalidate(user.getUsername());
+        }
+    }
+
+    public void invalidateAll() {
+        principals.invalidateAll();
+    }
+
+    public long hitCount() {
+        return principals.stats().hitCount();
+    }
+
+    public long missCount() {
+        return principals.stats().missCount();
+    }
+}
@@ -0,0 +1,67 @@
+package com.portfolio.bloom.security;
+
+import com.portfolio.bloom.domain.model.user.User;
+import com.portfolio.bloom.domain.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory map of userId to current security version, used to invalidate self-contained
+ * tokens without a database lookup per request.
+ *
+ * <p>Only users whose version has ever been bumped are held; everyone else is implicitly at
+ * version 0. The map is loaded at startup and re-synced on a schedule so bumps made on
+ * other instances are picked up.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SecurityVersionRegistry {
+
+    private static final long CLOCK_SKEW_MILLIS = 5_000L;
+
+    private final UserRepository userRepository;
+    private final Map<String, Long> versions = new ConcurrentHashMap<>();
+    private volatile long lastSync;
+
+    @PostConstruct
+    void load() {
+        long now = System.currentTimeMillis();
+        apply(userRepository.findSecurityVersionsUpdatedSince(0L));
+        lastSync = now;
+        log.info("Loaded security versions for {} users", versions.size());
+    }
+
+    public long current(String userId) {
+        return versions.getOrDefault(userId, 0L);
+    }
+
+    /**
+     * @return true if a token issued at the given version is still acceptable for the user
+     */
+    public boolean isCurrent(String userId, long tokenVersion) {
+        return tokenVersion >= current(userId);
+    }
+
+    public void bump(String userId, long version) {
+        versions.merge(userId, version, Math::max);
+    }
+
+    @Scheduled(fixedDelayString = "${application.security.jwt.security-version.sync-interval:30000}")
+    void refresh() {
+        long now = System.currentTimeMillis();
+        apply(userRepository.findSecurityVersionsUpdatedSince(lastSync - CLOCK_SKEW_MILLIS));
+        lastSync = now;
+    }
+
+    private void apply(List<User> users) {
+        users.forEach(user -> bump(user.getId(), user.getSecurityVersion()));
+    }
+}
@@ -0,0 +1,160 @@
+package com.portfolio.bloom.security;
+
+import com.portfolio.bloom.domain.model.Token;
+import com.portfolio.bloom.domain.service.TokenService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory set of revoked token ids ({@code jti}) consulted by {@code JwtAuthenticationFilter}.
+ *
+ * <p>A Bloom filter sits in front of an exact map of jti to expiry. The common case, a token
+ * that was never revoked, is answered by the filter alone without touching the map or
+ * allocating. A filter hit is confirmed against the exact map, so false positives never
+ * reject a valid token.
+ *
+ * <p>Entries are dropped once their token has expired, at which point the filter is rebuilt
+ * from the remaining entries. The list is loaded from the token store at startup and
+ * re-synced periodically so revocations made on other instances are picked up.
+ */
+@Slf4j
+@Component
+public class TokenRevocationList {
+
+    private static final int HASH_FUNCTIONS = 7;
+    private static final long CLOCK_SKEW_MILLIS = 5_000L;
+
+    private final TokenService tokenService;
+    private final int expectedInsertions;
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter;
+    private volatile long lastSync;
+
+    public TokenRevocationList(
+            TokenService tokenService,
+            MeterRegistry meterRegistry,
+            @Value("${application.security.revocation.expected-insertions:100000}") int expectedInsertions) {
+        this.tokenService = tokenService;
+        this.expectedInsertions = expectedInsertions;
+        this.filter = new BloomFilter(expectedInsertions);
+        Gauge.builder("auth.revocation.size", revoked, Map::size)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void load() {
+        long now = System.currentTimeMillis();
+        revokeAll(tokenService.findRevokedSince(0L));
+        lastSync = now;
+        log.info("Loaded {} revoked tokens", revoked.size());
+    }
+
+    /**
+     * @param jti Token id claim
+     * @return true if the token has been revoked and has not expired yet
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        return revoked.containsKey(jti);
+    }
+
+    public void revoke(String jti, Instant expiresAt) {
+        if (jti == null || expiresAt == null || !expiresAt.isAfter(Instant.now())) {
+            return;
+        }
+        revoked.put(jti, expiresAt.toEpochMilli());
+        filter.put(jti);
+    }
+
+    public void revokeAll(Collection<Token> tokens) {
+        tokens.forEach(token -> revoke(token.getJti(), token.getExpiresAt()));
+    }
+
+    @Scheduled(fixedDelayString = "${application.security.revocation.sync-interval:30000}")
+    void refresh() {
+        long now = System.currentTimeMillis();
+        revokeAll(tokenService.findRevokedSince(lastSync - CLOCK_SKEW_MILLIS));
+        lastSync = now;
+        prune(now);
+    }
+
+    private void prune(long now) {
+        if (!revoked.values().removeIf(expiresAt -> expiresAt <= now)) {
+            return;
+        }
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedInsertions, revoked.size() * 2));
+        revoked.keySet().forEach(rebuilt::put);
+        filter = rebuilt;
+        // Revocations that raced with the rebuild are re-added to the new filter.
+        revoked.keySet().forEach(rebuilt::put);
+    }
+
+    /**
+     * Thread-safe Bloom filter sized for a 1% false-positive rate at the expected insertions.
+     */
+    private static final class BloomFilter {
+
+        private final AtomicLongArray bits;
+        private final long bitCount;
+
+        BloomFilter(int expectedInsertions) {
+            long size = (long) Math.ceil(-expectedInsertions * Math.log(0.01) / (Math.log(2) * Math.log(2)));
+            int words = (int) Math.max(1, (size + 63) >>> 6);
+            this.bits = new AtomicLongArray(words);
+            this.bitCount = (long) words << 6;
+        }
+
+        void put(String value) {
+            long hash = mix(value.hashCode());
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= HASH_FUNCTIONS; i++) {
+                long index = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+                int word = (int) (index >>> 6);
+                long mask = 1L << index;
+                long current;
+                do {
+                    current = bits.get(word);
+                    if ((current & mask) != 0) {
+                        break;
+                    }
+                } while (!bits.compareAndSet(word, current, current | mask));
+            }
+        }
+
+        boolean mightContain(String value) {
+            long hash = mix(value.hashCode());
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= HASH_FUNCTIONS; i++) {
+                long index = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+                if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static long mix(long h) {
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb9fe1a85ec53L;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.portfolio.bloom.security.auth;
+
+import com.portfolio.bloom.domain.model.offer.Offer;
+import com.portfolio.bloom.domain.repository.OfferRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Resolves offer ownership from a {@code userId}-only projection.
+ */
+@Component
+@RequiredArgsConstructor
+public class OfferOwnershipResolver implements OwnershipResolver<Offer> {
+
+    private final OfferRepository offerRepository;
+
+    @Override
+    public String resourceType() {
+        return "offer";
+    }
+
+    @Override
+    public Optional<String> findOwnerId(String id) {
+        return offerRepository.findOwnerByIdAndDeletedIsFalse(id)
+                .map(Offer::getUserId);
+    }
+}
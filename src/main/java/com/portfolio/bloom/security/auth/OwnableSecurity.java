@@ -1,106 +1,102 @@
 package com.portfolio.bloom.security.auth;
 
-import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
-import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Component;
-import org.springframework.util.ReflectionUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
-import lombok.RequiredArgsConstructor;
 import com.portfolio.bloom.common.UserUtil;
-import com.portfolio.bloom.domain.repository.VenueRepository;
+import com.portfolio.bloom.domain.model.user.User;
 import com.portfolio.bloom.error.CommonException;
 import com.portfolio.bloom.error.ErrorEnum;
-import com.portfolio.bloom.domain.common.Ownable;
 
 @Component("ownableSecurity")
-@RequiredArgsConstructor
 public class OwnableSecurity {
 
+    private static final String OWNER_ATTRIBUTE_PREFIX = OwnableSecurity.class.getName() + ".owner:";
+
     private final UserUtil userUtil;
-    private final ApplicationContext applicationContext;
-    private final VenueRepository venueRepository;
+    private final Map<String, OwnershipResolver<?>> resolvers;
+
+    public OwnableSecurity(UserUtil userUtil, List<OwnershipResolver<?>> resolvers) {
+        this.userUtil = userUtil;
+        this.resolvers = resolvers.stream()
+                .collect(Collectors.toUnmodifiableMap(OwnershipResolver::resourceType, Function.identity()));
+    }
 
     /**
      * Checks if the current authenticated user is the owner of the specified entity.
-     * 
-     * <p>This method performs ownership verification by:
+     *
+     * <p>Each {@code Ownable} type has an {@link OwnershipResolver} bean; they are collected
+     * into a registry by resource name when the application starts. A check:
      * <ol>
-     *   <li>Retrieving the entity from the repository using the provided ID</li>
-     *   <li>For Package, AddOn, and Reservation entities, it resolves ownership through 
-     *       the associated Venue (by checking the venue's owner)</li>
-     *   <li>For other entities, it directly checks if the entity implements Ownable 
-     *       and compares the entity's userId with the current user's ID</li>
+     *   <li>Looks up the resolver registered for the resource name</li>
+     *   <li>Fetches only the entity's {@code userId} through a projection</li>
+     *   <li>Compares it with the current user's ID</li>
      * </ol>
-     * 
-     * <p>Special handling:
-     * <ul>
-     *   <li>Package and AddOn: Ownership is determined by the venue they belong to</li>
-     *   <li>Reservation: Ownership is determined by the venue the reservation is for</li>
-     *   <li>Other entities: Must implement Ownable interface with getUserId() method</li>
-     * </ul>
-     * 
+     *
+     * <p>The resolved owner is memoized on the current request, so repeated checks for the same
+     * entity within one request do not query the database again.
+     *
      * <p><b>Examples:</b>
      * <ul>
-     *   <li><b>Reservation:</b> 
-     *       <code>isOwner("reservation123", "reservation")</code><br>
-     *       Checks: <code>reservations</code> table (id = "reservation123") → 
-     *       Gets <code>venueId</code> column → 
-     *       Checks <code>venues</code> table (id = venueId) → 
-     *       Compares <code>venues.userId</code> with current user's ID
-     *   </li>
-     *   <li><b>Package:</b> 
-     *       <code>isOwner("package456", "package")</code><br>
-     *       Checks: <code>packages</code> table (id = "package456") → 
-     *       Gets <code>venueId</code> column → 
-     *       Checks <code>venues</code> table (id = venueId) → 
-     *       Compares <code>venues.userId</code> with current user's ID
-     *   </li>
-     *   <li><b>AddOn:</b> 
-     *       <code>isOwner("addon789", "addOn")</code><br>
-     *       Checks: <code>addons</code> table (id = "addon789") → 
-     *       Gets <code>venueId</code> column → 
-     *       Checks <code>venues</code> table (id = venueId) → 
-     *       Compares <code>venues.userId</code> with current user's ID
-     *   </li>
-     *   <li><b>Venue:</b> 
+     *   <li><b>Venue:</b>
      *       <code>isOwner("venue321", "venue")</code><br>
-     *       Checks: <code>venues</code> table (id = "venue321") → 
-     *       Compares <code>venues.userId</code> directly with current user's ID
+     *       Reads <code>venues.userId</code> (id = "venue321") →
+     *       Compares it with current user's ID
+     *   </li>
+     *   <li><b>Offer:</b>
+     *       <code>isOwner("offer654", "offer")</code><br>
+     *       Reads <code>offers.userId</code> (id = "offer654") →
+     *       Compares it with current user's ID
      *   </li>
      * </ul>
-     * 
+     *
      * @param id The ID of the entity to check ownership for
-     * @param repositoryBeanName The bean name of the repository (without "Repository" suffix).
-     *                          For example, "reservation" for ReservationRepository,
-     *                          "venue" for VenueRepository, etc.
+     * @param resourceType The resource name of the entity, e.g. "venue" or "offer"
      * @return true if the current user is the owner of the entity, false otherwise
-     * @throws RuntimeException if an error occurs during the ownership check
+     * @throws CommonException if no resolver is registered for the resource or the entity does not exist
+     */
+    public boolean isOwner(String id, String resourceType) {
+        OwnershipResolver<?> resolver = resolvers.get(resourceType);
+        if (resolver == null) {
+            throw new CommonException(ErrorEnum.ENTITY_NOT_FOUND, resourceType + " ");
+        }
+
+        String ownerId = resolveOwner(resolver, id)
+                .orElseThrow(() -> new CommonException(ErrorEnum.ENTITY_NOT_FOUND, id + " "));
+
+        User currentUser = userUtil.getCurrentUserEntity();
+        return currentUser != null && ownerId.equals(currentUser.getId());
+    }
+
+    /**
+     * @return true if a non-deleted entity with this id exists for the resource
      */
-    public boolean isOwner(String id, String repositoryBeanName) {
-        try {
-            System.out.println("isOwner: " + id + " " + repositoryBeanName);
-            Object repo = applicationContext.getBean(repositoryBeanName + "Repository");
-            System.out.println("repo: " + repo);
-            Method findById = ReflectionUtils.findMethod(repo.getClass(), "findByIdAndDeletedIsFalse", String.class);
-            if (findById == null) return false;
-            System.out.println("findById: " + findById);
-            Optional<?> entityOpt = (Optional<?>) ReflectionUtils.invokeMethod(findById, repo, id);
-            System.out.println("entityOpt: " + entityOpt);
-            if (entityOpt.isEmpty()) 
-                throw new CommonException(ErrorEnum.ENTITY_NOT_FOUND, (id+ " "));
+    public boolean exists(String id, String resourceType) {
+        OwnershipResolver<?> resolver = resolvers.get(resourceType);
+        return resolver != null && resolveOwner(resolver, id).isPresent();
+    }
 
-            Object entity = entityOpt.get();
-            System.out.println("entity: " + entity);
+    private Optional<String> resolveOwner(OwnershipResolver<?> resolver, String id) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return resolver.findOwnerId(id);
+        }
 
-            if (!(entity instanceof Ownable)) 
-                throw new CommonException(ErrorEnum.ENTITY_NOT_FOUND, (entity.getClass().getSimpleName() + " "));
-            String currentUserId = userUtil.getCurrentUser().getId();
-            return currentUserId.equals(((Ownable) entity).getUserId());
-        } catch (Exception ex) {
-            throw new RuntimeException("Error checking ownership: " + "isOwner(" + id + ", " + repositoryBeanName + "), " + ex.getMessage(), ex);
+        String key = OWNER_ATTRIBUTE_PREFIX + resolver.resourceType() + ":" + id;
+        Object memoized = attributes.getAttribute(key, RequestAttributes.SCOPE_REQUEST);
+        if (memoized instanceof String ownerId) {
+            return Optional.of(ownerId);
         }
+
+        Optional<String> ownerId = resolver.findOwnerId(id);
+        ownerId.ifPresent(owner -> attributes.setAttribute(key, owner, RequestAttributes.SCOPE_REQUEST));
+        return ownerId;
     }
 }
-
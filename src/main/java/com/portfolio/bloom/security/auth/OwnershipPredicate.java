@@ -0,0 +1,75 @@
+package com.portfolio.bloom.security.auth;
+
+import com.portfolio.bloom.common.UserUtil;
+import com.portfolio.bloom.domain.common.PatchUpdate;
+import com.portfolio.bloom.domain.model.user.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds write filters that carry the ownership check, so a single conditional update both
+ * authorizes and applies the change.
+ *
+ * <p>Admins match any non-deleted entity; everyone else only entities whose {@code userId}
+ * is their own. When such a write matches nothing, {@link #explainMiss} tells a missing
+ * entity apart from one owned by someone else or one that was modified concurrently.
+ */
+@Component
+@RequiredArgsConstructor
+public class OwnershipPredicate {
+
+    private final UserUtil userUtil;
+    private final OwnableSecurity ownableSecurity;
+
+    /**
+     * @param id Entity id
+     * @return Query matching the non-deleted entity if the current user may modify it
+     */
+    public Query ownedBy(String id) {
+        Criteria criteria = Criteria.where("_id").is(id).and("deleted").is(false);
+
+        if (!userUtil.isAdmin()) {
+            User currentUser = userUtil.getCurrentUserEntity();
+            if (currentUser == null) {
+                throw new AccessDeniedException("Authentication required");
+            }
+            criteria.and("userId").is(currentUser.getId());
+        }
+        return new Query(criteria);
+    }
+
+    /**
+     * Same as {@link #ownedBy(String)}, additionally requiring the stored version to match
+     * when the client supplied one.
+     */
+    public Query ownedBy(String id, Long expectedVersion) {
+        Query query = ownedBy(id);
+        if (expectedVersion != null) {
+            query.addCriteria(Criteria.where(PatchUpdate.VERSION).is(expectedVersion));
+        }
+        return query;
+    }
+
+    /**
+     * Called after an owner-predicated write matched nothing. Only this failure path reads
+     * the entity again. Returns normally when the entity does not exist.
+     *
+     * @throws AccessDeniedException if the entity belongs to another user
+     * @throws OptimisticLockingFailureException if the caller may modify the entity, so the
+     *         write can only have missed because it was changed concurrently
+     */
+    public void explainMiss(String id, String resourceType) {
+        if (!ownableSecurity.exists(id, resourceType)) {
+            return;
+        }
+        if (!userUtil.isAdmin() && !ownableSecurity.isOwner(id, resourceType)) {
+            throw new AccessDeniedException("Not the owner of " + resourceType + " " + id);
+        }
+        throw new OptimisticLockingFailureException(
+                resourceType + " " + id + " was modified concurrently");
+    }
+}
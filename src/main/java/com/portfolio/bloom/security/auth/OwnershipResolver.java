@@ -0,0 +1,24 @@
+package com.portfolio.bloom.security.auth;
+
+import com.portfolio.bloom.domain.common.Ownable;
+
+import java.util.Optional;
+
+/**
+ * Resolves the owner of one {@link Ownable} type without loading the whole entity.
+ *
+ * @param <T> Ownable entity type handled by this resolver
+ */
+public interface OwnershipResolver<T extends Ownable> {
+
+    /**
+     * @return Resource name used in {@code @ownableSecurity.isOwner(#id, '<resourceType>')}
+     */
+    String resourceType();
+
+    /**
+     * @param id Entity id
+     * @return The owning user's id, or empty if no non-deleted entity has this id
+     */
+    Optional<String> findOwnerId(String id);
+}
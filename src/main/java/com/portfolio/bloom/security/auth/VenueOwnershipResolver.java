@@ -0,0 +1,29 @@
+package com.portfolio.bloom.security.auth;
+
+import com.portfolio.bloom.domain.model.venue.Venue;
+import com.portfolio.bloom.domain.repository.VenueRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Resolves venue ownership from a {@code userId}-only projection.
+ */
+@Component
+@RequiredArgsConstructor
+public class VenueOwnershipResolver implements OwnershipResolver<Venue> {
+
+    private final VenueRepository venueRepository;
+
+    @Override
+    public String resourceType() {
+        return "venue";
+    }
+
+    @Override
+    public Optional<String> findOwnerId(String id) {
+        return venueRepository.findOwnerByIdAndDeletedIsFalse(id)
+                .map(Venue::getUserId);
+    }
+}
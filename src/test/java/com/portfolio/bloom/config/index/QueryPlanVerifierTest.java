@@ -0,0 +1,37 @@
+package com.portfolio.bloom.config.index;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+/**
+ * Starts the application against an empty database with the index migration running
+ * synchronously and plan verification set to {@code fail}, so a query shape that loses its
+ * index fails startup and with it this test.
+ */
+@SpringBootTest(properties = {
+        "application.mongodb.index-migration.async=false",
+        "application.mongodb.query-plan-verification=fail",
+        "application.security.jwt.secret-key=PhFCR7hXVNTII0pbMinSG1Loi1ppmbiwr7SJOGeCZ7Ho77sOx/vMvTtsBxYnObNDVCK/C9Sl6vVavHIbnc2EcA=="
+})
+@Testcontainers(disabledWithoutDocker = true)
+class QueryPlanVerifierTest {
+
+    @Container
+    @ServiceConnection
+    static final MongoDBContainer MONGO = new MongoDBContainer("mongo:7.0");
+
+    @Autowired
+    private QueryPlanVerifier queryPlanVerifier;
+
+    @Test
+    void everyQueryShapeIsIndexBacked() {
+        assertThatCode(queryPlanVerifier::verify).doesNotThrowAnyException();
+    }
+}
@@ -0,0 +1,162 @@
+package com.portfolio.bloom.domain.repository;
+
+import com.portfolio.bloom.domain.dto.CursorSlice;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeysetCursorTest {
+
+    private static final String FIELD = "venueName";
+    private static final ObjectId FIRST = new ObjectId("000000000000000000000001");
+    private static final ObjectId SECOND = new ObjectId("000000000000000000000002");
+    private static final ObjectId THIRD = new ObjectId("000000000000000000000003");
+
+    @Test
+    void firstPageHasNoRangeAndSortsWithIdTieBreaker() {
+        KeysetCursor cursor = decode(null, Sort.Direction.ASC);
+
+        assertThat(cursor.criteria().getCriteriaObject()).isEmpty();
+        assertThat(cursor.sort()).isEqualTo(Sort.by(Sort.Direction.ASC, FIELD, "_id"));
+    }
+
+    @Test
+    void ascendingContinuesAfterValueThenId() {
+        KeysetCursor cursor = next(Sort.Direction.ASC, row("b", SECOND));
+
+        assertThat(cursor.criteria().getCriteriaObject()).isEqualTo(new Document("$or", List.of(
+                new Document(FIELD, new Document("$gt", "b")),
+                new Document(FIELD, "b").append("_id", new Document("$gt", SECOND)))));
+    }
+
+    @Test
+    void ascendingAfterNullMovesOnToNonNullValues() {
+        KeysetCursor cursor = next(Sort.Direction.ASC, row(null, SECOND));
+
+        assertThat(cursor.criteria().getCriteriaObject()).isEqualTo(new Document("$or", List.of(
+                new Document(FIELD, new Document("$ne", null)),
+                new Document(FIELD, null).append("_id", new Document("$gt", SECOND)))));
+    }
+
+    @Test
+    void descendingContinuesBeforeValueAndEndsWithNulls() {
+        KeysetCursor cursor = next(Sort.Direction.DESC, row("b", SECOND));
+
+        assertThat(cursor.criteria().getCriteriaObject()).isEqualTo(new Document("$or", List.of(
+                new Document(FIELD, new Document("$lt", "b")),
+                new Document(FIELD, "b").append("_id", new Document("$lt", SECOND)),
+                new Document(FIELD, null))));
+    }
+
+    @Test
+    void descendingAfterNullStaysWithinNulls() {
+        KeysetCursor cursor = next(Sort.Direction.DESC, row(null, SECOND));
+
+        assertThat(cursor.criteria().getCriteriaObject()).isEqualTo(
+                new Document(FIELD, null).append("_id", new Document("$lt", SECOND)));
+    }
+
+    @Test
+    void sliceEncodesTheLastReturnedRowOnlyWhenMoreRowsExist() {
+        KeysetCursor cursor = decode(null, Sort.Direction.ASC);
+
+        CursorSlice<Document> full = cursor.slice(List.of(row("a", FIRST), row("b", SECOND), row("c", THIRD)), 2,
+                Function.identity());
+        CursorSlice<Document> last = cursor.slice(List.of(row("a", FIRST)), 2, Function.identity());
+
+        assertThat(full.isHasNext()).isTrue();
+        assertThat(full.getContent()).hasSize(2);
+        assertThat(decode(full.getNextCursor(), Sort.Direction.ASC).lastValue()).isEqualTo("b");
+        assertThat(last.isHasNext()).isFalse();
+        assertThat(last.getNextCursor()).isNull();
+    }
+
+    @Test
+    void decimalValuesSurviveTheRoundTrip() {
+        Decimal128 price = new Decimal128(new BigDecimal("12.50"));
+
+        KeysetCursor cursor = next(Sort.Direction.ASC, row(price, SECOND));
+
+        assertThat(cursor.lastValue()).isEqualTo(price);
+    }
+
+    @Test
+    void sortKeyCopyIsEncodedInsteadOfTheRewrittenField() {
+        Document localized = row("Translated", SECOND).append(KeysetCursor.SORT_KEY, "Stored");
+
+        KeysetCursor cursor = next(Sort.Direction.ASC, localized);
+
+        assertThat(cursor.lastValue()).isEqualTo("Stored");
+    }
+
+    @Test
+    void rejectsDocumentValue() {
+        assertThat(tryDecode(token(new Document("$ne", null), SECOND))).isEmpty();
+    }
+
+    @Test
+    void rejectsListValue() {
+        assertThat(tryDecode(token(List.of("a", "b"), SECOND))).isEmpty();
+    }
+
+    @Test
+    void rejectsIdThatIsNotAnObjectId() {
+        assertThat(tryDecode(token("b", "000000000000000000000002"))).isEmpty();
+        assertThat(tryDecode(token("b", new Document("$gt", "")))).isEmpty();
+        assertThat(tryDecode(token("b", null))).isEmpty();
+    }
+
+    @Test
+    void rejectsCursorIssuedForAnotherSort() {
+        String token = token("b", SECOND);
+
+        assertThat(KeysetCursor.decode(token, "created", Sort.Direction.ASC)).isEmpty();
+        assertThat(KeysetCursor.decode(token, FIELD, Sort.Direction.DESC)).isEmpty();
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        assertThat(tryDecode("not base64!")).isEmpty();
+        assertThat(tryDecode(encode("{not json"))).isEmpty();
+        assertThat(tryDecode(encode(new Document("f", 1).append("d", "ASC").append("v", "b")
+                .append("i", SECOND).toJson()))).isEmpty();
+    }
+
+    private static KeysetCursor next(Sort.Direction direction, Document lastRow) {
+        CursorSlice<Document> slice = decode(null, direction)
+                .slice(List.of(lastRow, row("z", THIRD)), 1, Function.identity());
+        return decode(slice.getNextCursor(), direction);
+    }
+
+    private static KeysetCursor decode(String token, Sort.Direction direction) {
+        return KeysetCursor.decode(token, FIELD, direction).orElseThrow();
+    }
+
+    private static Optional<KeysetCursor> tryDecode(String token) {
+        return KeysetCursor.decode(token, FIELD, Sort.Direction.ASC);
+    }
+
+    private static Document row(Object value, ObjectId id) {
+        return new Document("_id", id).append(FIELD, value);
+    }
+
+    private static String token(Object value, Object id) {
+        return encode(new Document("f", FIELD).append("d", "ASC")
+                .append("v", value).append("i", id).toJson());
+    }
+
+    private static String encode(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,46 @@
+package com.portfolio.bloom.domain.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VenueSearchPlannerTest {
+
+    private static final Sort BY_NAME = Sort.by(VenueSearchPlanner.VENUE_NAME, "_id");
+    private static final Sort BY_PRICE = Sort.by(Sort.Direction.DESC, VenueSearchPlanner.EFFECTIVE_PRICE, "_id");
+
+    @Test
+    void picksTheMostSelectiveEqualityFieldForTheSort() {
+        Criteria criteria = Criteria.where(VenueSearchPlanner.VENUE_TYPE).is("BAR")
+                .and(VenueSearchPlanner.CITY).is("Lisbon");
+
+        assertThat(VenueSearchPlanner.indexFor(criteria, BY_NAME)).contains("venue_search_city_name");
+        assertThat(VenueSearchPlanner.indexFor(criteria, BY_PRICE)).contains("venue_search_city_price");
+    }
+
+    @Test
+    void rangeOnlySearchWalksTheSortIndex() {
+        Criteria criteria = Criteria.where(VenueSearchPlanner.CAPACITY).gte(10)
+                .and(VenueSearchPlanner.PRICE_TYPE).is("LOWPRICE");
+
+        assertThat(VenueSearchPlanner.indexFor(criteria, BY_NAME)).contains("venue_name_scroll");
+        assertThat(VenueSearchPlanner.indexFor(new Criteria(), BY_PRICE)).contains("venue_price_scroll");
+    }
+
+    @Test
+    void operatorOnAnEqualityFieldDoesNotCountAsEquality() {
+        Criteria criteria = Criteria.where(VenueSearchPlanner.PEOPLE_TYPE).in("FAMILY", "COUPLE");
+
+        assertThat(VenueSearchPlanner.indexFor(criteria, BY_NAME)).contains("venue_name_scroll");
+    }
+
+    @Test
+    void sortWithoutSearchIndexIsNotHinted() {
+        Criteria criteria = Criteria.where(VenueSearchPlanner.CITY).is("Lisbon");
+
+        assertThat(VenueSearchPlanner.indexFor(criteria, Sort.by("created"))).isEmpty();
+        assertThat(VenueSearchPlanner.indexFor(criteria, Sort.unsorted())).isEmpty();
+    }
+}